@@ -0,0 +1,118 @@
+package com.gpa.app.bench;
+
+import com.gpa.app.analytics.CohortAnalytics;
+import com.gpa.app.analytics.CourseGradeDistribution;
+import com.gpa.app.analytics.GPAHistogram;
+import com.gpa.app.db.ConnectionPool;
+import com.gpa.app.db.DatabaseService;
+import com.gpa.app.model.StudentAggregate;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Cohort queries answered by ad-hoc SQL, the way a dashboard refresh would issue them, against the
+ * same queries answered by the in-memory column store once it is loaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CohortAnalyticsBenchmark {
+
+    // Each student's latest entry: newest calculated_at, then the later save.
+    private static final String LATEST_ENTRIES = "(SELECT e.entry_id, e.gpa_value FROM GPAEntries e WHERE e.entry_id = " +
+            "(SELECT x.entry_id FROM GPAEntries x WHERE x.student_id = e.student_id ORDER BY x.calculated_at DESC, x.entry_id DESC LIMIT 1))";
+    private static final String HISTOGRAM_SQL = "SELECT CAST(gpa_value / 0.25 AS INTEGER), COUNT(*) FROM " + LATEST_ENTRIES + " GROUP BY 1";
+    private static final String COURSE_SQL = "SELECT c.grade_letter, COUNT(*), AVG(c.grade_point) FROM Courses c JOIN " + LATEST_ENTRIES +
+            " l ON l.entry_id = c.entry_id WHERE c.course_code = ? GROUP BY c.grade_letter";
+    private static final String TOP_SQL = "SELECT student_id, weighted_points, total_credits, entry_count FROM StudentAggregates " +
+            "WHERE total_credits > 0 ORDER BY weighted_points / total_credits DESC, student_id LIMIT 10";
+
+    @Param({"100000", "1000000"})
+    public int entries;
+
+    private DatabaseService db;
+    private CohortAnalytics analytics;
+    private String courseCode;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        Path file = SyntheticData.seededDatabase(Path.of(System.getProperty("gpa.bench.dataDir", "target/bench-data")), entries);
+        db = DatabaseService.open("jdbc:sqlite:" + file);
+        analytics = CohortAnalytics.attach(db);
+        analytics.load();
+        courseCode = new SyntheticData(SyntheticData.SEED).courses(1).get(0).getCourseCode();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        analytics.detach();
+        db.close();
+    }
+
+
+    @Benchmark
+    public void sqlHistogram(Blackhole bh) throws SQLException {
+        try (ConnectionPool.PooledConnection conn = db.getConnectionPool().acquireReader();
+             ResultSet rs = conn.prepare(HISTOGRAM_SQL).executeQuery()) {
+            while (rs.next()) {
+                bh.consume(rs.getLong(2));
+            }
+        }
+    }
+
+    @Benchmark
+    public GPAHistogram columnarHistogram() throws SQLException {
+        return analytics.getGpaHistogram(0.25);
+    }
+
+    @Benchmark
+    public void sqlCourseDistribution(Blackhole bh) throws SQLException {
+        try (ConnectionPool.PooledConnection conn = db.getConnectionPool().acquireReader()) {
+            PreparedStatement pstmt = conn.prepare(COURSE_SQL);
+            pstmt.setString(1, courseCode);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    bh.consume(rs.getLong(2));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public CourseGradeDistribution columnarCourseDistribution() throws SQLException {
+        return analytics.getCourseDistribution(courseCode);
+    }
+
+    // StudentAggregates already holds every student's totals, so this is SQL's best case.
+    @Benchmark
+    public void sqlTopStudents(Blackhole bh) throws SQLException {
+        try (ConnectionPool.PooledConnection conn = db.getConnectionPool().acquireReader();
+             ResultSet rs = conn.prepare(TOP_SQL).executeQuery()) {
+            while (rs.next()) {
+                bh.consume(rs.getInt(1));
+            }
+        }
+    }
+
+    @Benchmark
+    public List<StudentAggregate> columnarTopStudents() throws SQLException {
+        return analytics.getTopStudents(10);
+    }
+
+    @Benchmark
+    public double[] columnarPercentiles() throws SQLException {
+        return analytics.getGpaPercentiles(10, 25, 50, 75, 90);
+    }
+}
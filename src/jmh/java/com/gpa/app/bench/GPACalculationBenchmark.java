@@ -0,0 +1,33 @@
+package com.gpa.app.bench;
+
+import com.gpa.app.model.Course;
+import com.gpa.app.service.GPAService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GPACalculationBenchmark {
+
+    @Param({"5", "50", "500", "5000"})
+    public int courseCount;
+
+    private List<Course> courses;
+
+    @Setup
+    public void setUp() {
+        courses = new SyntheticData(SyntheticData.SEED).courses(courseCount);
+    }
+
+    @Benchmark
+    public double calculateGPA() {
+        return GPAService.calculateGPA(courses);
+    }
+}
@@ -0,0 +1,67 @@
+package com.gpa.app.bench;
+
+import com.gpa.app.model.Course;
+import com.gpa.app.service.GradingScale;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GradeConversionBenchmark {
+
+    @Param({"UGC-4.0", "PERCENT-4.0"})
+    public String scaleName;
+
+    private GradingScale scale;
+    private String[] grades;
+
+    @Setup
+    public void setUp() {
+        scale = GradingScale.forName(scaleName);
+        if (scaleName.startsWith("PERCENT")) {
+            grades = new String[]{"93", "78.5", "71", "66", "58", "49", "41", "12"};
+        } else {
+            List<Course> courses = new SyntheticData(SyntheticData.SEED).courses(64);
+            grades = courses.stream().map(Course::getGradeLetter).toArray(String[]::new);
+        }
+    }
+
+    @Benchmark
+    public double tableLookup() {
+        double sum = 0.0;
+        for (String grade : grades) {
+            sum += scale.pointFor(grade);
+        }
+        return sum;
+    }
+
+    // The switch on grade.toUpperCase() this app used before scales were configurable.
+    @Benchmark
+    public double upperCaseSwitch() {
+        double sum = 0.0;
+        for (String grade : grades) {
+            sum += switch (grade.toUpperCase()) {
+                case "A+" -> 4.00;
+                case "A" -> 3.75;
+                case "A-" -> 3.50;
+                case "B+" -> 3.25;
+                case "B" -> 3.00;
+                case "B-" -> 2.75;
+                case "C+" -> 2.50;
+                case "C" -> 2.25;
+                case "C-" -> 2.00;
+                case "D+" -> 1.75;
+                case "D" -> 1.50;
+                default -> 0.00;
+            };
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,54 @@
+package com.gpa.app.bench;
+
+import com.gpa.app.db.DatabaseService;
+import com.gpa.app.model.Course;
+import com.gpa.app.model.GPAEntry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadPathBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int entries;
+
+    private DatabaseService db;
+    private int students;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        Path file = SyntheticData.seededDatabase(Path.of(System.getProperty("gpa.bench.dataDir", "target/bench-data")), entries);
+        db = DatabaseService.open("jdbc:sqlite:" + file);
+        students = SyntheticData.studentsFor(entries);
+        random = new SplittableRandom(SyntheticData.SEED);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        db.close();
+    }
+
+    @Benchmark
+    public List<GPAEntry> getEntriesForStudent() throws SQLException {
+        // Student ids are assigned 1..n in seeding order.
+        return db.getEntriesForStudent(1 + random.nextInt(students));
+    }
+
+    @Benchmark
+    public List<Course> getCoursesForEntry() throws SQLException {
+        return db.getCoursesForEntry(1 + random.nextInt(entries));
+    }
+}
@@ -0,0 +1,57 @@
+package com.gpa.app.bench;
+
+import com.gpa.app.db.DatabaseService;
+import com.gpa.app.model.Course;
+import com.gpa.app.model.GPAEntry;
+import com.gpa.app.model.Student;
+import com.gpa.app.service.GPAService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SaveEntryBenchmark {
+
+    @Param({"1", "8", "32"})
+    public int courseCount;
+
+    private Path file;
+    private DatabaseService db;
+    private Student student;
+    private List<Course> courses;
+    private double totalCredits;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        file = Files.createTempFile("gpa-save-bench", ".db");
+        db = DatabaseService.open("jdbc:sqlite:" + file);
+        student = db.saveOrGetStudent("Bench", "1");
+        courses = new SyntheticData(SyntheticData.SEED).courses(courseCount);
+        totalCredits = courses.stream().mapToDouble(Course::getCredit).sum();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        db.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int saveGpaEntry() throws SQLException {
+        GPAEntry entry = new GPAEntry(student.getStudentId(), student.getFirstName(), student.getLastName(),
+                GPAService.calculateGPA(courses), totalCredits, LocalDateTime.now());
+        return db.saveGpaEntry(entry, courses);
+    }
+}
@@ -0,0 +1,110 @@
+package com.gpa.app.bench;
+
+import com.gpa.app.db.DatabaseService;
+import com.gpa.app.db.StorageProfile;
+import com.gpa.app.model.Course;
+import com.gpa.app.model.GPAEntry;
+import com.gpa.app.model.Student;
+import com.gpa.app.service.GPAService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Compares storage profiles on a private copy of a seeded database: write throughput alone, read
+ * latency alone, and both together, where WAL lets readers proceed while the writer commits.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StorageProfileBenchmark {
+
+    private static final int ENTRIES = 100_000;
+
+    @Param({"LEGACY", "DURABLE", "BALANCED", "FAST"})
+    public String profile;
+
+    private Path file;
+    private DatabaseService db;
+    private Student student;
+    private List<Course> courses;
+    private double gpa;
+    private double totalCredits;
+    private int students;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        Path seeded = SyntheticData.seededDatabase(Path.of(System.getProperty("gpa.bench.dataDir", "target/bench-data")), ENTRIES);
+        file = Files.createTempFile("gpa-profile-bench", ".db");
+        Files.copy(seeded, file, StandardCopyOption.REPLACE_EXISTING);
+
+        db = DatabaseService.open("jdbc:sqlite:" + file, StorageProfile.fromName(profile));
+        student = db.saveOrGetStudent("Bench", "Profile");
+        courses = new SyntheticData(SyntheticData.SEED).courses(SyntheticData.COURSES_PER_ENTRY);
+        gpa = GPAService.calculateGPA(courses);
+        totalCredits = courses.stream().mapToDouble(Course::getCredit).sum();
+        students = SyntheticData.studentsFor(ENTRIES);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        db.close();
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(Path.of(file + "-wal"));
+        Files.deleteIfExists(Path.of(file + "-shm"));
+    }
+
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int saveGpaEntry() throws SQLException {
+        return save();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public List<GPAEntry> getEntriesForStudent() throws SQLException {
+        return read();
+    }
+
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.AverageTime)
+    public int mixedWriter() throws SQLException {
+        return save();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    @BenchmarkMode(Mode.AverageTime)
+    public List<GPAEntry> mixedReader() throws SQLException {
+        return read();
+    }
+
+
+    private int save() throws SQLException {
+        GPAEntry entry = new GPAEntry(student.getStudentId(), student.getFirstName(), student.getLastName(),
+                gpa, totalCredits, LocalDateTime.now());
+        return db.saveGpaEntry(entry, courses);
+    }
+
+    private List<GPAEntry> read() throws SQLException {
+        // Student ids are assigned 1..n in seeding order.
+        return db.getEntriesForStudent(1 + ThreadLocalRandom.current().nextInt(students));
+    }
+}
@@ -0,0 +1,48 @@
+package com.gpa.app.bench;
+
+import com.gpa.app.db.DatabaseService;
+import com.gpa.app.model.Student;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudentLookupBenchmark {
+
+    private Path file;
+    private DatabaseService db;
+    private long next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        file = Files.createTempFile("gpa-student-bench", ".db");
+        db = DatabaseService.open("jdbc:sqlite:" + file);
+        db.saveOrGetStudent("Existing", "1");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        db.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Student saveOrGetStudentHit() throws SQLException {
+        return db.saveOrGetStudent("Existing", "1");
+    }
+
+    @Benchmark
+    public Student saveOrGetStudentMiss() throws SQLException {
+        return db.saveOrGetStudent("New" + next++, "1");
+    }
+}
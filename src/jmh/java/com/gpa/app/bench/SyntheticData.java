@@ -0,0 +1,109 @@
+package com.gpa.app.bench;
+
+import com.gpa.app.db.DatabaseService;
+import com.gpa.app.model.Course;
+import com.gpa.app.model.GPAEntry;
+import com.gpa.app.model.GPARecord;
+import com.gpa.app.service.GPAService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+
+/**
+ * Deterministic synthetic data for benchmarks: the same seed and sizes always produce the same
+ * students, courses and grades, so results from different releases are comparable.
+ */
+public final class SyntheticData {
+
+    static final long SEED = 2207072L;
+    static final int ENTRIES_PER_STUDENT = 4;
+    static final int COURSES_PER_ENTRY = 6;
+    private static final int COURSE_CATALOGUE = 200;
+    private static final int SEED_BATCH = 1000;
+
+    private static final String[] GRADES = {"A+", "A", "A-", "B+", "B", "B-", "C+", "C", "C-", "D+", "D", "F"};
+    private static final double[] CREDITS = {0.75, 1.0, 1.5, 2.0, 3.0, 4.0};
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2020, 1, 1, 9, 0);
+
+    private final Random random;
+
+    public SyntheticData(long seed) {
+        this.random = new Random(seed);
+    }
+
+
+    public List<Course> courses(int count) {
+        List<Course> courses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int code = random.nextInt(COURSE_CATALOGUE);
+            String grade = GRADES[random.nextInt(GRADES.length)];
+            courses.add(new Course("Course " + code, "CSE" + (1000 + code), CREDITS[random.nextInt(CREDITS.length)],
+                    "Teacher " + (code % 37), null, grade, GPAService.convertGradeToPoint(grade)));
+        }
+        return courses;
+    }
+
+    public GPARecord record(int studentIndex, int entryIndex) {
+        List<Course> courses = courses(COURSES_PER_ENTRY);
+        double credits = courses.stream().mapToDouble(Course::getCredit).sum();
+        GPAEntry entry = new GPAEntry(0, "Student" + studentIndex, "R" + studentIndex,
+                GPAService.calculateGPA(courses), credits, EPOCH.plusDays(entryIndex * 120L).plusMinutes(studentIndex));
+        return new GPARecord(entry, courses);
+    }
+
+
+    /**
+     * Returns a database file holding {@code entries} GPA entries, generating it on first use.
+     * Seeded files are reused across runs since a million entries takes minutes to write.
+     */
+    public static Path seededDatabase(Path directory, int entries) throws IOException, SQLException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve("entries-" + entries + ".db");
+        if (Files.exists(file)) {
+            return file;
+        }
+
+        Path partial = directory.resolve("entries-" + entries + ".db.partial");
+        Files.deleteIfExists(partial);
+
+        SyntheticData data = new SyntheticData(SEED);
+        DatabaseService db = DatabaseService.open("jdbc:sqlite:" + partial);
+        try {
+            List<GPARecord> batch = new ArrayList<>(SEED_BATCH);
+            int students = studentsFor(entries);
+            for (int i = 0; i < entries; i++) {
+                batch.add(data.record(i % students, i / students));
+                if (batch.size() == SEED_BATCH) {
+                    db.saveGpaRecords(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                db.saveGpaRecords(batch);
+            }
+        } finally {
+            db.close();
+        }
+        Files.move(partial, file);
+        return file;
+    }
+
+    public static int studentsFor(int entries) {
+        return Math.max(1, entries / ENTRIES_PER_STUDENT);
+    }
+
+
+    public static void main(String[] args) throws IOException, SQLException {
+        Path directory = Path.of(args.length > 0 ? args[0] : "target/bench-data");
+        for (int i = 1; i < args.length; i++) {
+            System.out.println("Seeded " + seededDatabase(directory, Integer.parseInt(args[i])));
+        }
+    }
+}
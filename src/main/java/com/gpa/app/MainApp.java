@@ -1,22 +1,53 @@
 package com.gpa.app;
 
+import com.gpa.app.controller.BackgroundExecutor;
+import com.gpa.app.controller.SceneNavigator;
+import com.gpa.app.db.DatabaseService;
+import com.gpa.app.metrics.AppMetrics;
+import com.gpa.app.service.GPAService;
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Scene;
+import javafx.concurrent.Task;
 import javafx.stage.Stage;
 
 import java.io.IOException;
 
 public class MainApp extends Application {
+    // main() is skipped when the launcher starts an Application subclass directly, so tracing begins here.
+    @Override
+    public void init() {
+        StartupTrace.mark("JavaFX toolkit started");
+    }
+
     @Override
     public void start(Stage stage) throws IOException {
-        FXMLLoader fxmlLoader = new FXMLLoader(MainApp.class.getResource("Home.fxml"));
-        Scene scene = new Scene(fxmlLoader.load(), 320, 240);
-        String cssPath = getClass().getResource("/com/gpa/app/home_style.css").toExternalForm();
-        scene.getStylesheets().add(cssPath);
-        stage.setTitle("CGPA Calculator");
-        stage.setScene(scene);
-        stage.show();
+        StartupTrace.mark("primary stage ready");
+        AppMetrics.registerGauge("background_tasks_in_flight", BackgroundExecutor::getInFlightCount);
+
+        SceneNavigator.init(stage);
+        // Parsed while the user types the credit total, so the first transition only swaps scenes.
+        SceneNavigator.preload(SceneNavigator.Screen.ENTRY, SceneNavigator.Screen.DASHBOARD);
+        SceneNavigator.show(SceneNavigator.Screen.HOME);
+        StartupTrace.mark("home scene shown");
+        SceneNavigator.afterFirstLayout(stage.getScene(), () -> StartupTrace.mark("first frame laid out"));
+
+        // Pool, migrations and JMX registration happen off the FX thread; the first query only waits if it outruns this.
+        BackgroundExecutor.submit(new Task<Void>() {
+            @Override
+            protected Void call() {
+                DatabaseService.getInstance();
+                StartupTrace.mark("database ready");
+                AppMetrics.start();
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public void stop() {
+        BackgroundExecutor.shutdown();
+        GPAService.shutdownIngestion();
+        DatabaseService.shutdown();
+        AppMetrics.stop();
     }
 
     public static void main(String[] args) {
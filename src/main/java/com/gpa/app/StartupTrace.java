@@ -0,0 +1,30 @@
+package com.gpa.app;
+
+import java.time.Instant;
+
+
+/**
+ * Prints how long after JVM start each startup phase was reached, up to the first laid-out frame
+ * and the background database warm-up. Enabled with {@code -Dgpa.startup.trace=true}.
+ */
+public final class StartupTrace {
+
+    private static final boolean ENABLED = Boolean.getBoolean("gpa.startup.trace");
+    private static final long JVM_START_MILLIS = ProcessHandle.current().info().startInstant()
+            .map(Instant::toEpochMilli)
+            .orElse(System.currentTimeMillis());
+
+    private StartupTrace() {
+    }
+
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static void mark(String phase) {
+        if (ENABLED) {
+            System.out.printf("Startup +%d ms: %s%n", System.currentTimeMillis() - JVM_START_MILLIS, phase);
+        }
+    }
+}
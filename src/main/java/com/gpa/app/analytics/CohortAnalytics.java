@@ -0,0 +1,249 @@
+package com.gpa.app.analytics;
+
+import com.gpa.app.db.DatabaseService;
+import com.gpa.app.db.GPAChangeListener;
+import com.gpa.app.metrics.AppMetrics;
+import com.gpa.app.model.GPARecord;
+import com.gpa.app.model.StudentAggregate;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+
+/**
+ * Faculty-wide GPA statistics answered from an in-memory, column-oriented copy of GPAEntries and
+ * Courses instead of SQL. The copy is read once, on the first query or {@link #load()}, and from
+ * then on patched from DatabaseService's change notifications, so it never re-reads the tables.
+ *
+ * "Cohort" figures (histogram, percentiles, course grades) use each student's latest entry, as the
+ * dashboard does; top students are ranked by CGPA over all entries, as in StudentAggregates.
+ *
+ * Queries share a read lock and may run concurrently; changes wait for running queries to finish.
+ */
+public class CohortAnalytics implements GPAChangeListener {
+
+    /** Upper bound on the bands a histogram may have; narrower bands are rejected rather than allocated. */
+    public static final int MAX_HISTOGRAM_BINS = 1000;
+
+    private final DatabaseService db;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object loadLock = new Object();
+
+    // Both guarded by lock. columns is null until loaded; pending is non-null only while loading.
+    private CohortColumns columns;
+    private List<Consumer<CohortColumns>> pending;
+    private boolean invalidatedWhileLoading;
+
+    private CohortAnalytics(DatabaseService db) {
+        this.db = db;
+    }
+
+    /** Creates a store that follows {@code db}'s changes. Nothing is read until the first query. */
+    public static CohortAnalytics attach(DatabaseService db) {
+        CohortAnalytics analytics = new CohortAnalytics(db);
+        db.addChangeListener(analytics);
+        return analytics;
+    }
+
+    public void detach() {
+        db.removeChangeListener(this);
+        invalidate();
+    }
+
+
+    /**
+     * Reads every entry and course into memory unless that has already happened. Changes committed
+     * while the tables are being read are held back and applied on top of the snapshot afterwards.
+     */
+    public void load() throws SQLException {
+        synchronized (loadLock) {
+            while (true) {
+                lock.writeLock().lock();
+                try {
+                    if (columns != null) {
+                        return;
+                    }
+                    pending = new ArrayList<>();
+                    invalidatedWhileLoading = false;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+
+                CohortColumns loaded = new CohortColumns();
+                try {
+                    AppMetrics.analytics().run("load", () -> db.forEachGpaRecord(loaded::add));
+                } catch (SQLException | RuntimeException e) {
+                    lock.writeLock().lock();
+                    try {
+                        pending = null;
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                    throw e;
+                }
+
+                lock.writeLock().lock();
+                try {
+                    pending.forEach(change -> change.accept(loaded));
+                    pending = null;
+                    // A bulk rewrite during the read leaves the snapshot stale; read again.
+                    if (!invalidatedWhileLoading) {
+                        columns = loaded;
+                        return;
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    public boolean isLoaded() {
+        lock.readLock().lock();
+        try {
+            return columns != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Drops the in-memory copy; the next query reads the tables again. */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            columns = null;
+            if (pending != null) {
+                invalidatedWhileLoading = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    public int getEntryCount() throws SQLException {
+        return query(CohortColumns::getEntryCount);
+    }
+
+    public int getStudentCount() throws SQLException {
+        return query(CohortColumns::getStudentCount);
+    }
+
+    /** Distinct course keys (see {@link com.gpa.app.model.Course#toCourseKey}) seen so far, sorted. */
+    public List<String> getCourseCodes() throws SQLException {
+        return query(CohortColumns::getCourseCodes);
+    }
+
+    /**
+     * Students by latest GPA in bands of {@code binWidth}, from 0 up to the band holding the highest GPA.
+     * Throws IllegalArgumentException if that takes more than {@link #MAX_HISTOGRAM_BINS} bands.
+     */
+    public GPAHistogram getGpaHistogram(double binWidth) throws SQLException {
+        if (!(binWidth > 0.0) || Double.isInfinite(binWidth)) {
+            throw new IllegalArgumentException("binWidth must be a positive number");
+        }
+        return query(c -> c.latestGpaHistogram(binWidth));
+    }
+
+    /**
+     * Nearest-rank percentiles of the students' latest GPAs, one result per requested percentile
+     * in {@code [0, 100]}. All results are NaN when there are no entries.
+     */
+    public double[] getGpaPercentiles(double... percentiles) throws SQLException {
+        for (double p : percentiles) {
+            if (!(p >= 0.0 && p <= 100.0)) {
+                throw new IllegalArgumentException("Percentiles must be between 0 and 100: " + p);
+            }
+        }
+        double[] sorted = query(CohortColumns::sortedLatestGpas);
+
+        double[] results = new double[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            if (sorted.length == 0) {
+                results[i] = Double.NaN;
+                continue;
+            }
+            int rank = (int) Math.ceil(percentiles[i] / 100.0 * sorted.length);
+            results[i] = sorted[Math.max(rank, 1) - 1];
+        }
+        return results;
+    }
+
+    /** Grade letters earned in {@code courseCode} on students' latest entries. Codes are compared as course keys. */
+    public CourseGradeDistribution getCourseDistribution(String courseCode) throws SQLException {
+        return query(c -> c.courseDistribution(courseCode));
+    }
+
+    /** The {@code n} students with the highest CGPA, best first. */
+    public List<StudentAggregate> getTopStudents(int n) throws SQLException {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must not be negative");
+        }
+        return query(c -> c.topStudents(n));
+    }
+
+
+    private <T> T query(Function<CohortColumns, T> query) throws SQLException {
+        while (true) {
+            lock.readLock().lock();
+            try {
+                if (columns != null) {
+                    return query.apply(columns);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            load();
+        }
+    }
+
+
+    @Override
+    public void entrySaved(GPARecord record) {
+        lock.writeLock().lock();
+        try {
+            // Delivered after the writer is released, so the snapshot being read, or one loaded
+            // since the commit, may include it already.
+            if (pending != null) {
+                pending.add(c -> c.addIfAbsent(record));
+            } else if (columns != null) {
+                columns.addIfAbsent(record);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void entryDeleted(int entryId) {
+        change(c -> c.remove(entryId));
+    }
+
+    @Override
+    public void studentDeleted(int studentId) {
+        change(c -> c.removeStudent(studentId));
+    }
+
+    // Rare and possibly large, e.g. a grading-scale recomputation; re-reading is simpler than patching.
+    @Override
+    public void entriesRecomputed(int fromEntryId, int toEntryId) {
+        invalidate();
+    }
+
+    private void change(Consumer<CohortColumns> change) {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.add(change);
+            } else if (columns != null) {
+                change.accept(columns);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,468 @@
+package com.gpa.app.analytics;
+
+import com.gpa.app.model.Course;
+import com.gpa.app.model.GPAEntry;
+import com.gpa.app.model.GPARecord;
+import com.gpa.app.model.StudentAggregate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.IntStream;
+
+
+/**
+ * Every GPA entry and course held column by column in primitive arrays, plus per-student running
+ * totals indexed by student id. Course codes and grade letters are dictionary-encoded to ints.
+ * Deleted entries are only flagged until enough of them pile up to be worth compacting.
+ *
+ * Not thread-safe: {@link CohortAnalytics} serialises changes and lets queries share the columns.
+ * Queries split the rows into fixed-size chunks and scan the chunks in parallel.
+ */
+final class CohortColumns {
+
+    private static final int CHUNK_ROWS = 16_384;
+    private static final int MIN_DEAD_TO_COMPACT = 4_096;
+
+    // One row per entry, in the order entries arrived.
+    private int[] entryIds = new int[1024];
+    private int[] entryStudents = new int[1024];
+    private double[] entryGpa = new double[1024];
+    private double[] entryCredits = new double[1024];
+    private long[] entryTimes = new long[1024];
+    private boolean[] entryLive = new boolean[1024];
+    private int entryRows;
+    private int deadEntries;
+    // Entry ids come from AUTOINCREMENT and are never reused, so anything above this is new.
+    private int maxEntryId;
+
+    // One row per course; courseEntryRows points at the owning entry row.
+    private int[] courseEntryRows = new int[4096];
+    private int[] courseKeys = new int[4096];
+    private int[] courseGrades = new int[4096];
+    private double[] coursePoints = new double[4096];
+    private int courseRows;
+
+    private final Map<String, Integer> courseKeyIds = new HashMap<>();
+    private final List<String> courseCodes = new ArrayList<>();
+    private final Map<String, Integer> gradeIds = new HashMap<>();
+    private final List<String> gradeLetters = new ArrayList<>();
+
+    // Indexed by student id. latestRows is -1 for a student without live entries.
+    private int[] latestRows = new int[256];
+    private double[] studentWeightedPoints = new double[256];
+    private double[] studentCredits = new double[256];
+    private int[] studentEntries = new int[256];
+    private int liveStudents;
+
+    CohortColumns() {
+        Arrays.fill(latestRows, -1);
+    }
+
+
+    void add(GPARecord record) {
+        GPAEntry entry = record.getEntry();
+        if (entryRows == entryIds.length) {
+            growEntries();
+        }
+        int row = entryRows++;
+        entryIds[row] = entry.getEntryId();
+        entryStudents[row] = entry.getStudentId();
+        entryGpa[row] = entry.getGpaValue();
+        entryCredits[row] = entry.getTotalCredits();
+        entryTimes[row] = entry.getCalculatedAt();
+        entryLive[row] = true;
+        maxEntryId = Math.max(maxEntryId, entry.getEntryId());
+
+        for (Course course : record.getCourses()) {
+            if (courseRows == courseEntryRows.length) {
+                growCourses();
+            }
+            courseEntryRows[courseRows] = row;
+            courseKeys[courseRows] = encode(courseKeyIds, courseCodes, course.getCourseKey());
+            courseGrades[courseRows] = encode(gradeIds, gradeLetters, course.getGradeLetter() == null ? "" : course.getGradeLetter());
+            coursePoints[courseRows] = course.getGradePoint();
+            courseRows++;
+        }
+
+        int student = entry.getStudentId();
+        ensureStudent(student);
+        if (studentEntries[student]++ == 0) {
+            liveStudents++;
+        }
+        studentWeightedPoints[student] += entry.getGpaValue() * entry.getTotalCredits();
+        studentCredits[student] += entry.getTotalCredits();
+        if (latestRows[student] < 0 || isLater(row, latestRows[student])) {
+            latestRows[student] = row;
+        }
+    }
+
+    /** For changes that may already be part of a loaded snapshot, since they are delivered after commit. */
+    void addIfAbsent(GPARecord record) {
+        int entryId = record.getEntry().getEntryId();
+        if (entryId > maxEntryId || findLiveRow(entryId) < 0) {
+            add(record);
+        }
+    }
+
+    void remove(int entryId) {
+        int row = findLiveRow(entryId);
+        if (row < 0) {
+            return;
+        }
+        kill(row);
+
+        int student = entryStudents[row];
+        if (--studentEntries[student] == 0) {
+            clearStudent(student);
+        } else {
+            studentWeightedPoints[student] -= entryGpa[row] * entryCredits[row];
+            studentCredits[student] -= entryCredits[row];
+            if (latestRows[student] == row) {
+                latestRows[student] = findLatestRow(student);
+            }
+        }
+        compactIfSparse();
+    }
+
+    void removeStudent(int studentId) {
+        if (studentId >= latestRows.length || studentEntries[studentId] == 0) {
+            return;
+        }
+        for (int row = 0; row < entryRows; row++) {
+            if (entryLive[row] && entryStudents[row] == studentId) {
+                kill(row);
+            }
+        }
+        clearStudent(studentId);
+        compactIfSparse();
+    }
+
+
+    int getEntryCount() {
+        return entryRows - deadEntries;
+    }
+
+    int getStudentCount() {
+        return liveStudents;
+    }
+
+    List<String> getCourseCodes() {
+        List<String> codes = new ArrayList<>(courseCodes);
+        codes.sort(null);
+        return codes;
+    }
+
+
+    /** Latest GPA of every student with at least one entry, sorted ascending. */
+    double[] sortedLatestGpas() {
+        double[] gpas = new double[liveStudents];
+        int n = 0;
+        for (int student = 0; student < latestRows.length; student++) {
+            if (latestRows[student] >= 0) {
+                gpas[n++] = entryGpa[latestRows[student]];
+            }
+        }
+        Arrays.parallelSort(gpas);
+        return gpas;
+    }
+
+    GPAHistogram latestGpaHistogram(double binWidth) {
+        int students = latestRows.length;
+        double max = chunks(students).parallel()
+                .mapToDouble(chunk -> {
+                    double chunkMax = 0.0;
+                    for (int student = chunkStart(chunk); student < chunkEnd(chunk, students); student++) {
+                        if (latestRows[student] >= 0) {
+                            chunkMax = Math.max(chunkMax, entryGpa[latestRows[student]]);
+                        }
+                    }
+                    return chunkMax;
+                })
+                .max().orElse(0.0);
+        double binCount = Math.floor(max / binWidth) + 1;
+        if (!(binCount <= CohortAnalytics.MAX_HISTOGRAM_BINS)) {
+            throw new IllegalArgumentException("binWidth " + binWidth + " would need more than "
+                    + CohortAnalytics.MAX_HISTOGRAM_BINS + " bins to reach " + max);
+        }
+        int bins = (int) binCount;
+
+        long[] counts = chunks(students).parallel()
+                .mapToObj(chunk -> {
+                    long[] chunkCounts = new long[bins];
+                    for (int student = chunkStart(chunk); student < chunkEnd(chunk, students); student++) {
+                        if (latestRows[student] >= 0) {
+                            double gpa = Math.max(entryGpa[latestRows[student]], 0.0);
+                            chunkCounts[Math.min((int) (gpa / binWidth), bins - 1)]++;
+                        }
+                    }
+                    return chunkCounts;
+                })
+                .reduce(new long[bins], CohortColumns::sum);
+        return new GPAHistogram(binWidth, counts);
+    }
+
+    /** Grades in {@code courseCode} on each student's latest entry, best average grade point first. */
+    CourseGradeDistribution courseDistribution(String courseCode) {
+        Integer key = courseKeyIds.get(Course.toCourseKey(courseCode));
+        if (key == null) {
+            return new CourseGradeDistribution(courseCode, new LinkedHashMap<>(), 0.0);
+        }
+        int grades = gradeLetters.size();
+        GradeTally tally = chunks(courseRows).parallel()
+                .mapToObj(chunk -> {
+                    GradeTally chunkTally = new GradeTally(grades);
+                    for (int row = chunkStart(chunk); row < chunkEnd(chunk, courseRows); row++) {
+                        if (courseKeys[row] == key && isLatest(courseEntryRows[row])) {
+                            chunkTally.counts[courseGrades[row]]++;
+                            chunkTally.points[courseGrades[row]] += coursePoints[row];
+                        }
+                    }
+                    return chunkTally;
+                })
+                .reduce(new GradeTally(grades), GradeTally::plus);
+
+        long[] counts = tally.counts;
+        double[] points = tally.points;
+        long total = 0;
+        double pointSum = 0.0;
+        List<Integer> present = new ArrayList<>();
+        for (int grade = 0; grade < grades; grade++) {
+            if (counts[grade] > 0) {
+                present.add(grade);
+                total += counts[grade];
+                pointSum += points[grade];
+            }
+        }
+        present.sort(Comparator.<Integer>comparingDouble(grade -> -points[grade] / counts[grade])
+                .thenComparing(gradeLetters::get));
+
+        Map<String, Long> byGrade = new LinkedHashMap<>();
+        for (int grade : present) {
+            byGrade.put(gradeLetters.get(grade), counts[grade]);
+        }
+        return new CourseGradeDistribution(courseCodes.get(key), byGrade, total == 0 ? 0.0 : pointSum / total);
+    }
+
+    /** The {@code n} students with the highest CGPA over all their entries; ties go to the lower student id. */
+    List<StudentAggregate> topStudents(int n) {
+        int students = latestRows.length;
+        Comparator<Integer> worstFirst = Comparator.<Integer>comparingDouble(this::cgpa)
+                .thenComparing(Comparator.<Integer>reverseOrder());
+
+        PriorityQueue<Integer> best = chunks(students).parallel()
+                .mapToObj(chunk -> {
+                    PriorityQueue<Integer> heap = new PriorityQueue<>(n + 1, worstFirst);
+                    for (int student = chunkStart(chunk); student < chunkEnd(chunk, students); student++) {
+                        if (studentEntries[student] > 0) {
+                            offer(heap, student, n, worstFirst);
+                        }
+                    }
+                    return heap;
+                })
+                // Every chunk's heap is its own, so merging into one of them is safe.
+                .reduce((a, b) -> {
+                    b.forEach(student -> offer(a, student, n, worstFirst));
+                    return a;
+                })
+                .orElseGet(PriorityQueue::new);
+
+        List<Integer> ranked = new ArrayList<>(best);
+        ranked.sort(worstFirst.reversed());
+        List<StudentAggregate> top = new ArrayList<>(ranked.size());
+        for (int student : ranked) {
+            top.add(new StudentAggregate(student, studentWeightedPoints[student], studentCredits[student], studentEntries[student]));
+        }
+        return top;
+    }
+
+
+    private static final class GradeTally {
+        final long[] counts;
+        final double[] points;
+
+        GradeTally(int grades) {
+            counts = new long[grades];
+            points = new double[grades];
+        }
+
+        GradeTally plus(GradeTally other) {
+            GradeTally result = new GradeTally(counts.length);
+            for (int grade = 0; grade < counts.length; grade++) {
+                result.counts[grade] = counts[grade] + other.counts[grade];
+                result.points[grade] = points[grade] + other.points[grade];
+            }
+            return result;
+        }
+    }
+
+    private static void offer(PriorityQueue<Integer> heap, int student, int n, Comparator<Integer> worstFirst) {
+        if (heap.size() < n) {
+            heap.add(student);
+        } else if (n > 0 && worstFirst.compare(student, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(student);
+        }
+    }
+
+    private double cgpa(int student) {
+        return studentCredits[student] > 0.0 ? studentWeightedPoints[student] / studentCredits[student] : 0.0;
+    }
+
+    private boolean isLatest(int row) {
+        return entryLive[row] && latestRows[entryStudents[row]] == row;
+    }
+
+    // Same order as SELECT_LATEST_ENTRY_ID_SQL: newest calculated_at wins, then the later save.
+    private boolean isLater(int row, int other) {
+        return entryTimes[row] > entryTimes[other]
+                || entryTimes[row] == entryTimes[other] && entryIds[row] > entryIds[other];
+    }
+
+    private int findLiveRow(int entryId) {
+        // Recent entries are the likeliest to change, so search from the end.
+        for (int row = entryRows - 1; row >= 0; row--) {
+            if (entryIds[row] == entryId && entryLive[row]) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    private int findLatestRow(int student) {
+        int latest = -1;
+        for (int row = 0; row < entryRows; row++) {
+            if (entryLive[row] && entryStudents[row] == student && (latest < 0 || isLater(row, latest))) {
+                latest = row;
+            }
+        }
+        return latest;
+    }
+
+    private void kill(int row) {
+        entryLive[row] = false;
+        deadEntries++;
+    }
+
+    private void clearStudent(int student) {
+        studentEntries[student] = 0;
+        studentWeightedPoints[student] = 0.0;
+        studentCredits[student] = 0.0;
+        latestRows[student] = -1;
+        liveStudents--;
+    }
+
+
+    // Drops dead entries and their courses once they make up a quarter of the rows.
+    private void compactIfSparse() {
+        if (deadEntries < MIN_DEAD_TO_COMPACT || deadEntries * 4 < entryRows) {
+            return;
+        }
+        int[] newRows = new int[entryRows];
+        int live = 0;
+        for (int row = 0; row < entryRows; row++) {
+            if (!entryLive[row]) {
+                newRows[row] = -1;
+                continue;
+            }
+            newRows[row] = live;
+            entryIds[live] = entryIds[row];
+            entryStudents[live] = entryStudents[row];
+            entryGpa[live] = entryGpa[row];
+            entryCredits[live] = entryCredits[row];
+            entryTimes[live] = entryTimes[row];
+            entryLive[live] = true;
+            live++;
+        }
+        entryRows = live;
+        deadEntries = 0;
+
+        int kept = 0;
+        for (int row = 0; row < courseRows; row++) {
+            int entryRow = newRows[courseEntryRows[row]];
+            if (entryRow < 0) {
+                continue;
+            }
+            courseEntryRows[kept] = entryRow;
+            courseKeys[kept] = courseKeys[row];
+            courseGrades[kept] = courseGrades[row];
+            coursePoints[kept] = coursePoints[row];
+            kept++;
+        }
+        courseRows = kept;
+
+        for (int student = 0; student < latestRows.length; student++) {
+            if (latestRows[student] >= 0) {
+                latestRows[student] = newRows[latestRows[student]];
+            }
+        }
+    }
+
+
+    private static int encode(Map<String, Integer> ids, List<String> values, String value) {
+        Integer id = ids.get(value);
+        if (id == null) {
+            id = values.size();
+            ids.put(value, id);
+            values.add(value);
+        }
+        return id;
+    }
+
+    private void ensureStudent(int student) {
+        if (student < latestRows.length) {
+            return;
+        }
+        int n = Math.max(latestRows.length * 2, student + 1);
+        int old = latestRows.length;
+        latestRows = Arrays.copyOf(latestRows, n);
+        Arrays.fill(latestRows, old, n, -1);
+        studentWeightedPoints = Arrays.copyOf(studentWeightedPoints, n);
+        studentCredits = Arrays.copyOf(studentCredits, n);
+        studentEntries = Arrays.copyOf(studentEntries, n);
+    }
+
+    private void growEntries() {
+        int n = entryIds.length * 2;
+        entryIds = Arrays.copyOf(entryIds, n);
+        entryStudents = Arrays.copyOf(entryStudents, n);
+        entryGpa = Arrays.copyOf(entryGpa, n);
+        entryCredits = Arrays.copyOf(entryCredits, n);
+        entryTimes = Arrays.copyOf(entryTimes, n);
+        entryLive = Arrays.copyOf(entryLive, n);
+    }
+
+    private void growCourses() {
+        int n = courseEntryRows.length * 2;
+        courseEntryRows = Arrays.copyOf(courseEntryRows, n);
+        courseKeys = Arrays.copyOf(courseKeys, n);
+        courseGrades = Arrays.copyOf(courseGrades, n);
+        coursePoints = Arrays.copyOf(coursePoints, n);
+    }
+
+
+    private static IntStream chunks(int rows) {
+        return IntStream.range(0, (rows + CHUNK_ROWS - 1) / CHUNK_ROWS);
+    }
+
+    private static int chunkStart(int chunk) {
+        return chunk * CHUNK_ROWS;
+    }
+
+    private static int chunkEnd(int chunk, int rows) {
+        return Math.min(chunkStart(chunk) + CHUNK_ROWS, rows);
+    }
+
+    private static long[] sum(long[] a, long[] b) {
+        long[] result = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = a[i] + b[i];
+        }
+        return result;
+    }
+}
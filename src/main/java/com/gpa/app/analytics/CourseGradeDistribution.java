@@ -0,0 +1,39 @@
+package com.gpa.app.analytics;
+
+import java.util.Collections;
+import java.util.Map;
+
+
+public class CourseGradeDistribution {
+
+    private final String courseCode;
+    private final Map<String, Long> counts;
+    private final double averageGradePoint;
+
+    CourseGradeDistribution(String courseCode, Map<String, Long> counts, double averageGradePoint) {
+        this.courseCode = courseCode;
+        this.counts = Collections.unmodifiableMap(counts);
+        this.averageGradePoint = averageGradePoint;
+    }
+
+    public String getCourseCode() {
+        return courseCode;
+    }
+
+    /** Grade letter -> number of students, the grade with the highest grade point first. */
+    public Map<String, Long> getCounts() {
+        return counts;
+    }
+
+    public long getTotal() {
+        long total = 0;
+        for (long count : counts.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    public double getAverageGradePoint() {
+        return averageGradePoint;
+    }
+}
@@ -0,0 +1,42 @@
+package com.gpa.app.analytics;
+
+
+/** Counts of students per GPA band; band i covers {@code [i * binWidth, (i + 1) * binWidth)}. */
+public class GPAHistogram {
+
+    private final double binWidth;
+    private final long[] counts;
+
+    GPAHistogram(double binWidth, long[] counts) {
+        this.binWidth = binWidth;
+        this.counts = counts;
+    }
+
+    public double getBinWidth() {
+        return binWidth;
+    }
+
+    public int getBinCount() {
+        return counts.length;
+    }
+
+    public double getLowerBound(int bin) {
+        return bin * binWidth;
+    }
+
+    public double getUpperBound(int bin) {
+        return (bin + 1) * binWidth;
+    }
+
+    public long getCount(int bin) {
+        return counts[bin];
+    }
+
+    public long getTotal() {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,77 @@
+package com.gpa.app.controller;
+
+import javafx.concurrent.Task;
+import javafx.concurrent.WorkerStateEvent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Shared executor for JavaFX background tasks. Every task runs on its own virtual thread, so a
+ * burst of selections costs no platform threads, and {@link Lane} keeps only the newest task of a
+ * view alive.
+ */
+public final class BackgroundExecutor {
+
+    private static final ExecutorService EXECUTOR =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("fx-background-", 0).factory());
+    private static final AtomicInteger inFlight = new AtomicInteger();
+
+    private BackgroundExecutor() {
+    }
+
+
+    public static <T> Task<T> submit(Task<T> task) {
+        inFlight.incrementAndGet();
+        EXECUTOR.execute(() -> {
+            try {
+                task.run();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        return task;
+    }
+
+    public static int getInFlightCount() {
+        return inFlight.get();
+    }
+
+    public static void shutdown() {
+        EXECUTOR.shutdownNow();
+    }
+
+
+    /**
+     * A single-slot channel for one kind of view work, used from the FX thread. Submitting a task
+     * cancels the one before it, and a superseded task's success or failure handlers never run, even
+     * if it had already finished before it was replaced.
+     */
+    public static final class Lane {
+
+        private Task<?> current;
+
+        public <T> Task<T> submit(Task<T> task) {
+            cancel();
+            current = task;
+            task.addEventFilter(WorkerStateEvent.WORKER_STATE_SUCCEEDED, this::dropIfStale);
+            task.addEventFilter(WorkerStateEvent.WORKER_STATE_FAILED, this::dropIfStale);
+            return BackgroundExecutor.submit(task);
+        }
+
+        public void cancel() {
+            if (current != null) {
+                current.cancel(true);
+                current = null;
+            }
+        }
+
+        private void dropIfStale(WorkerStateEvent event) {
+            if (event.getSource() != current) {
+                event.consume();
+            }
+        }
+    }
+}
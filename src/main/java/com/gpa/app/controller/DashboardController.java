@@ -1,36 +1,49 @@
 package com.gpa.app.controller;
 
-import com.gpa.app.MainApp;
 import com.gpa.app.db.GPARepository;
 import com.gpa.app.model.Course;
+import com.gpa.app.model.GPARecord;
 import com.gpa.app.model.Student;
+import com.gpa.app.model.StudentAggregate;
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Node;
-import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
-import javafx.stage.Stage;
+import javafx.util.Duration;
 
 import java.io.IOException;
 import java.sql.SQLException;
 import java.text.DecimalFormat;
 import java.util.List;
 
-public class DashboardController {
+public class DashboardController implements SceneNavigator.Lifecycle {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int PREFETCH_ROWS = 20;
 
     private final DecimalFormat df = new DecimalFormat("0.00");
     private Student selectedStudent = null;
 
+    private final ObservableList<Student> students = FXCollections.observableArrayList();
+    private final PauseTransition searchDebounce = new PauseTransition(Duration.millis(250));
+    private String searchPrefix = "";
+    private boolean hasMorePages = true;
+    private boolean pageLoading = false;
+
+    private final BackgroundExecutor.Lane listLane = new BackgroundExecutor.Lane();
+    private final BackgroundExecutor.Lane detailsLane = new BackgroundExecutor.Lane();
+
+    @FXML private TextField studentSearchField;
     @FXML private ListView<Student> studentListView;
     @FXML private Label studentNameLabel;
     @FXML private Label studentRollLabel;
     @FXML private Label gpaValueLabel;
+    @FXML private Label cgpaLabel;
     @FXML private Button updateGradesButton;
     @FXML private Button deleteRecordButton;
     @FXML private Button createNewButton;
@@ -55,8 +68,24 @@ public class DashboardController {
 
         setInteractiveButtonsDisabled(true);
 
+        studentListView.setItems(students);
+        studentListView.setCellFactory(listView -> new ListCell<>() {
+            @Override
+            protected void updateItem(Student student, boolean empty) {
+                super.updateItem(student, empty);
+                setText(empty || student == null ? null : student.toString());
+                // Rendering a row near the end of what is loaded pulls in the next page.
+                if (!empty && getIndex() >= students.size() - PREFETCH_ROWS) {
+                    loadNextPage();
+                }
+            }
+        });
 
-        loadStudents();
+        searchDebounce.setOnFinished(e -> {
+            searchPrefix = studentSearchField.getText().trim();
+            loadStudents();
+        });
+        studentSearchField.textProperty().addListener((observable, oldValue, newValue) -> searchDebounce.playFromStart());
 
         studentListView.getSelectionModel().selectedItemProperty().addListener((observable, oldValue, newValue) -> {
             if (newValue != null) {
@@ -64,12 +93,32 @@ public class DashboardController {
                 loadStudentDetails(newValue); // Load details asynchronously
                 setInteractiveButtonsDisabled(false);
             } else {
+                detailsLane.cancel();
                 clearDetails();
                 setInteractiveButtonsDisabled(true);
             }
         });
     }
 
+    @Override
+    public void reset() {
+        listLane.cancel();
+        detailsLane.cancel();
+        studentSearchField.clear();
+        searchDebounce.stop();
+        searchPrefix = "";
+        studentListView.getSelectionModel().clearSelection();
+        selectedStudent = null;
+        clearDetails();
+        setInteractiveButtonsDisabled(true);
+    }
+
+    // Reloaded on every visit, since the entry screen has usually just saved a record.
+    @Override
+    public void onShow() {
+        loadStudents();
+    }
+
     private void setInteractiveButtonsDisabled(boolean disabled) {
         updateGradesButton.setDisable(disabled);
         deleteRecordButton.setDisable(disabled);
@@ -77,35 +126,47 @@ public class DashboardController {
 
 
     private void loadStudents() {
+        listLane.cancel();
+        pageLoading = false;
+        hasMorePages = true;
+        students.clear();
+        loadNextPage();
+    }
+
+
+    private void loadNextPage() {
+        if (pageLoading || !hasMorePages) {
+            return;
+        }
+        pageLoading = true;
 
-        studentListView.setDisable(true);
-        createNewButton.setDisable(true);
+        String prefix = searchPrefix;
+        Student after = students.isEmpty() ? null : students.get(students.size() - 1);
 
-        Task<List<Student>> loadTask = new Task<>() {
+        Task<List<Student>> pageTask = new Task<>() {
             @Override
             protected List<Student> call() throws SQLException {
 
-                return GPARepository.getAllStudents();
+                return GPARepository.getStudentPage(prefix, after, PAGE_SIZE);
             }
         };
 
-        loadTask.setOnSucceeded(e -> {
-
-            studentListView.setDisable(false);
-            createNewButton.setDisable(false);
-            ObservableList<Student> observableStudents = FXCollections.observableArrayList(loadTask.getValue());
-            studentListView.setItems(observableStudents);
+        pageTask.setOnSucceeded(e -> {
+            List<Student> page = pageTask.getValue();
+            pageLoading = false;
+            hasMorePages = page.size() == PAGE_SIZE;
+            students.addAll(page);
         });
 
-        loadTask.setOnFailed(e -> {
-            studentListView.setDisable(false);
-            createNewButton.setDisable(false);
-            Throwable exception = loadTask.getException();
+        pageTask.setOnFailed(e -> {
+            pageLoading = false;
+            hasMorePages = false;
+            Throwable exception = pageTask.getException();
             System.err.println("Error loading students: " + exception.getMessage());
             showAlert("Database Error", "Failed to load student list.", Alert.AlertType.ERROR);
         });
 
-        new Thread(loadTask).start();
+        listLane.submit(pageTask);
     }
 
 
@@ -114,24 +175,30 @@ public class DashboardController {
         studentNameLabel.setText(student.getFirstName());
         studentRollLabel.setText(student.getLastName());
         gpaValueLabel.setText("Loading...");
+        cgpaLabel.setText("");
         detailedResultTable.getItems().clear();
         setInteractiveButtonsDisabled(true);
 
-        Task<LoadDetailsResult> loadDetailsTask = new Task<>() {
+        Task<StudentDetails> loadDetailsTask = new Task<>() {
             @Override
-            protected LoadDetailsResult call() throws SQLException {
+            protected StudentDetails call() throws SQLException {
 
-                double latestGpa = GPARepository.getLatestGpaValue(student.getStudentId());
-                List<Course> courses = GPARepository.getLatestGpaEntryWithCourses(student.getStudentId());
-                return new LoadDetailsResult(latestGpa, courses);
+                return new StudentDetails(GPARepository.getLatestGpaRecord(student.getStudentId()),
+                        GPARepository.getStudentAggregate(student.getStudentId()));
             }
         };
 
         loadDetailsTask.setOnSucceeded(e -> {
 
-            LoadDetailsResult result = loadDetailsTask.getValue();
-            gpaValueLabel.setText(df.format(result.gpa));
-            detailedResultTable.setItems(FXCollections.observableArrayList(result.courses));
+            GPARecord latest = loadDetailsTask.getValue().latest;
+            StudentAggregate aggregate = loadDetailsTask.getValue().aggregate;
+            cgpaLabel.setText(String.format("CGPA %s over %d terms", df.format(aggregate.getCgpa()), aggregate.getEntryCount()));
+            if (latest == null) {
+                gpaValueLabel.setText(df.format(0.0));
+            } else {
+                gpaValueLabel.setText(df.format(latest.getEntry().getGpaValue()));
+                detailedResultTable.setItems(FXCollections.observableArrayList(latest.getCourses()));
+            }
             setInteractiveButtonsDisabled(false);
         });
 
@@ -144,37 +211,34 @@ public class DashboardController {
             clearDetails();
         });
 
-        new Thread(loadDetailsTask).start();
-    }
-
-    private static class LoadDetailsResult {
-        final double gpa;
-        final List<Course> courses;
-
-        LoadDetailsResult(double gpa, List<Course> courses) {
-            this.gpa = gpa;
-            this.courses = courses;
-        }
+        // A newer selection cancels this load, so only the latest student's details are rendered.
+        detailsLane.submit(loadDetailsTask);
     }
 
     private void clearDetails() {
         studentNameLabel.setText("[Select a Student]");
         studentRollLabel.setText("[Roll Number]");
         gpaValueLabel.setText("0.00");
+        cgpaLabel.setText("CGPA 0.00 over 0 terms");
         detailedResultTable.getItems().clear();
     }
 
+    private static final class StudentDetails {
+        final GPARecord latest;
+        final StudentAggregate aggregate;
+
+        StudentDetails(GPARecord latest, StudentAggregate aggregate) {
+            this.latest = latest;
+            this.aggregate = aggregate;
+        }
+    }
+
 
     @FXML
     private void handleCreateNewStudent(ActionEvent event) {
         try {
-            FXMLLoader fxmlLoader = new FXMLLoader(MainApp.class.getResource("/com/gpa/app/Entry.fxml"));
-            Scene entryScene = new Scene(fxmlLoader.load());
-
-            Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-            stage.setScene(entryScene);
-            stage.setTitle("GPA Calculator - New Entry");
-            stage.show();
+            SceneNavigator.show(SceneNavigator.Screen.ENTRY, "GPA Calculator - New Entry", controller -> {
+            });
         } catch (IOException e) {
             System.err.println("Error loading Entry.fxml: " + e.getMessage());
             showAlert("Navigation Error", "Could not load the new entry screen.", Alert.AlertType.ERROR);
@@ -189,17 +253,9 @@ public class DashboardController {
         }
 
         try {
-            FXMLLoader fxmlLoader = new FXMLLoader(MainApp.class.getResource("/com/gpa/app/Entry.fxml"));
-            Scene entryScene = new Scene(fxmlLoader.load());
-
-            EntryController controller = fxmlLoader.getController();
-
-            controller.initUpdateData(selectedStudent);
-
-            Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-            stage.setScene(entryScene);
-            stage.setTitle("GPA Calculator - Update Entry for " + selectedStudent.getFirstName());
-            stage.show();
+            Student student = selectedStudent;
+            SceneNavigator.show(SceneNavigator.Screen.ENTRY, "GPA Calculator - Update Entry for " + student.getFirstName(),
+                    (EntryController controller) -> controller.initUpdateData(student));
         } catch (Exception e) {
             System.err.println("Error loading update screen: " + e.getMessage());
             e.printStackTrace();
@@ -223,19 +279,21 @@ public class DashboardController {
             confirm.showAndWait().ifPresent(response -> {
                 if (response == ButtonType.YES) {
                     setInteractiveButtonsDisabled(true);
+                    int deletedId = selectedStudent.getStudentId();
 
                     Task<Boolean> deleteTask = new Task<>() {
                         @Override
                         protected Boolean call() throws Exception {
 
-                            return GPARepository.deleteStudent(selectedStudent.getStudentId());
+                            return GPARepository.deleteStudent(deletedId);
                         }
                     };
 
                     deleteTask.setOnSucceeded(e -> {
                         if (deleteTask.getValue()) {
                             showAlert("Success", "Student record deleted successfully.", Alert.AlertType.INFORMATION);
-                            loadStudents(); // Refresh the list asynchronously
+                            // Only this student changed, so patch the loaded pages instead of reading them again.
+                            students.removeIf(s -> s.getStudentId() == deletedId);
                             clearDetails();
                         } else {
                             showAlert("Failure", "Failed to delete student record.", Alert.AlertType.ERROR);
@@ -251,7 +309,7 @@ public class DashboardController {
                         showAlert("Database Error", "An error occurred during deletion: " + exception.getMessage(), Alert.AlertType.ERROR);
                     });
 
-                    new Thread(deleteTask).start();
+                    BackgroundExecutor.submit(deleteTask);
                 }
             });
         });
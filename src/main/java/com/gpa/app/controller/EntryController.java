@@ -1,29 +1,26 @@
 package com.gpa.app.controller;
 
-import com.gpa.app.MainApp;
 import com.gpa.app.model.Course;
 import com.gpa.app.model.Student;
 import com.gpa.app.service.GPAService;
-import com.gpa.app.db.DatabaseService;
+import com.gpa.app.service.GradingScale;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Node;
-import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.stage.Stage;
 
 import java.io.IOException;
 import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.List;
 
-public class EntryController {
+public class EntryController implements SceneNavigator.Lifecycle {
 
-    private final DatabaseService dbService = DatabaseService.getInstance();
     private final GPAService gpaService = new GPAService();
 
-    private final String[] GRADES = {"A+", "A", "A-", "B+", "B", "B-", "C+", "C", "C-", "D+", "D", "F"};
+    private final GradingScale gradingScale = GradingScale.getDefault();
 
     private ObservableList<Course> courseList = FXCollections.observableArrayList();
     private double currentTotalCredits = 0.0;
@@ -31,6 +28,7 @@ public class EntryController {
     private double requiredCredits;
 
     private Student studentToUpdate = null;
+    private String calculateButtonText;
 
 
     @FXML private TextField studentNameField;
@@ -78,8 +76,30 @@ public class EntryController {
 
     @FXML
     public void initialize() {
-        gradeComboBox.getItems().addAll(GRADES);
+        gradeComboBox.getItems().addAll(gradingScale.getGrades());
         courseTable.setItems(courseList);
+        calculateButtonText = calculateGpaButton.getText();
+        updateCreditSummary();
+        checkGpaCalculationEligibility();
+    }
+
+
+    // The scene is reused, so every visit starts from a blank new-entry form.
+    @Override
+    public void reset() {
+        studentToUpdate = null;
+        requiredCredits = 0.0;
+        currentTotalCredits = 0.0;
+        courseList.clear();
+
+        studentNameField.clear();
+        studentRollField.clear();
+        studentNameField.setDisable(false);
+        studentRollField.setDisable(false);
+        calculateGpaButton.setText(calculateButtonText);
+        validationLabel.setText("");
+
+        clearInputFields();
         updateCreditSummary();
         checkGpaCalculationEligibility();
     }
@@ -110,7 +130,7 @@ public class EntryController {
             String t2 = teacher2Field.getText().trim();
             String grade = gradeComboBox.getValue();
 
-            double gradePoint = convertGradeToPoint(grade);
+            double gradePoint = gradingScale.pointFor(grade);
 
             Course newCourse = new Course(name, code, credit, t1, t2, grade, gradePoint);
             courseList.add(newCourse);
@@ -150,57 +170,43 @@ public class EntryController {
         String firstName = studentNameField.getText().trim();
         String lastName = studentRollField.getText().trim();
 
-        Student studentRecord;
-        if (studentToUpdate != null) {
-            studentRecord = studentToUpdate;
-
-            try {
-
-                dbService.deleteLatestGpaEntryByStudentId(studentRecord.getStudentId());
-                System.out.println("Previous GPA record for student ID " + studentRecord.getStudentId() + " successfully deleted.");
-            } catch (Exception e) {
-
-                System.err.println("WARNING: Failed to delete previous GPA record. Proceeding with new save. Error: " + e.getMessage());
+        Student existingStudent = studentToUpdate;
+        List<Course> courses = new ArrayList<>(courseList);
+
+        // The save waits for its ingestion batch to commit, so keep it off the FX thread.
+        Task<Boolean> saveTask = new Task<>() {
+            @Override
+            protected Boolean call() {
+                if (existingStudent != null) {
+                    return GPAService.calculateAndReplaceLatestGPA(existingStudent, courses, gradingScale);
+                }
+                return GPAService.calculateAndSaveGPA(new Student(firstName, lastName), courses, gradingScale);
             }
+        };
 
+        saveTask.setOnSucceeded(e -> {
+            if (!saveTask.getValue()) {
+                calculateGpaButton.setDisable(false);
+                new Alert(Alert.AlertType.ERROR, "Failed to save the complete GPA record (GPA entry or course history).").showAndWait();
+                return;
+            }
 
-        } else {
-
-            studentRecord = new Student(firstName, lastName);
-        }
-
-
-        boolean saveSuccessful = GPAService.calculateAndSaveGPA(studentRecord, courseList);
-
-        if (!saveSuccessful) {
-            new Alert(Alert.AlertType.ERROR, "Failed to save the complete GPA record (GPA entry or course history).").showAndWait();
-            return;
-        }
-
-
-
-        java.net.URL location = MainApp.class.getResource("/com/gpa/app/Dashboard.fxml");
-        if (location == null) {
-            String errorMessage = "FATAL: Could not find resource /resources/Dashboard.fxml. Check the path and file existence on the classpath.";
-            System.err.println(errorMessage);
-            new Alert(Alert.AlertType.ERROR, errorMessage).showAndWait();
-            return;
-        }
-
-        FXMLLoader fxmlLoader = new FXMLLoader(location);
+            try {
+                SceneNavigator.show(SceneNavigator.Screen.DASHBOARD);
 
-        try {
-            Scene dashboardScene = new Scene(fxmlLoader.load());
+            } catch (IOException ex) {
+                validationLabel.setText("Error loading Dashboard.fxml: " + ex.getMessage());
+                ex.printStackTrace();
+            }
+        });
 
-            Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-            stage.setScene(dashboardScene);
-            stage.setTitle("GPA Calculator - Student Dashboard");
-            stage.show();
+        saveTask.setOnFailed(e -> {
+            calculateGpaButton.setDisable(false);
+            new Alert(Alert.AlertType.ERROR, "Failed to save the GPA record: " + saveTask.getException().getMessage()).showAndWait();
+        });
 
-        } catch (IOException e) {
-            validationLabel.setText("Error loading Dashboard.fxml: " + e.getMessage());
-            e.printStackTrace();
-        }
+        calculateGpaButton.setDisable(true);
+        BackgroundExecutor.submit(saveTask);
     }
 
 
@@ -236,22 +242,4 @@ public class EntryController {
         }
         return "";
     }
-
-    private double convertGradeToPoint(String grade) {
-        return switch (grade.toUpperCase()) {
-            case "A+" -> 4.00;
-            case "A" -> 3.75;
-            case "A-" -> 3.50;
-            case "B+" -> 3.25;
-            case "B" -> 3.00;
-            case "B-" -> 2.75;
-            case "C+" -> 2.50;
-            case "C" -> 2.25;
-            case "C-" -> 2.00;
-            case "D+" -> 1.75;
-            case "D" -> 1.50;
-            case "F" -> 0.00;
-            default -> 0.00;
-        };
-    }
-}
\ No newline at end of file
+}
@@ -2,16 +2,11 @@ package com.gpa.app.controller;
 
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Node;
-import javafx.scene.Scene;
-import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
-import javafx.stage.Stage;
 
 import java.io.IOException;
 
-public class HomeController {
+public class HomeController implements SceneNavigator.Lifecycle {
     @FXML private TextField totalCreditNumber;
 
 
@@ -20,21 +15,12 @@ public class HomeController {
 
         String creditValue = totalCreditNumber.getText().trim();
 
-        FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/com/gpa/app/Entry.fxml"));
-        Scene entryScene = new Scene(fxmlLoader.load());
-
-        String cssPath = getClass().getResource("/com/gpa/app/entry_style.css").toExternalForm();
-
-        entryScene.getStylesheets().add(cssPath);
-
-        EntryController entryController = fxmlLoader.getController();
-        entryController.initData(creditValue);
-
-        Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-        stage.setScene(entryScene);
-        stage.setTitle("CGPA Calculator - Course Entry");
-        stage.show();
+        SceneNavigator.show(SceneNavigator.Screen.ENTRY, (EntryController entryController) -> entryController.initData(creditValue));
     }
 
+    @Override
+    public void reset() {
+        totalCreditNumber.clear();
+    }
 
 }
@@ -0,0 +1,270 @@
+package com.gpa.app.controller;
+
+import com.gpa.app.MainApp;
+import javafx.application.Platform;
+import javafx.concurrent.Task;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+
+/**
+ * Switches the primary stage between screens, parsing each screen's FXML once. Screens handed to
+ * {@link #preload} are parsed on background threads while the user is still on the first screen;
+ * afterwards a transition only swaps scenes and runs the controller's {@link Lifecycle} hooks.
+ *
+ * Every transition is timed from the request to the end of the first layout pulse of the new scene.
+ * Set {@code -Dgpa.ui.traceNavigation=true} to print each one.
+ *
+ * All methods must be called on the FX thread.
+ */
+public final class SceneNavigator {
+
+    private static final boolean TRACE = Boolean.getBoolean("gpa.ui.traceNavigation");
+
+    public enum Screen {
+        HOME("Home.fxml", "home_style.css", "CGPA Calculator", 320, 240),
+        ENTRY("Entry.fxml", "entry_style.css", "CGPA Calculator - Course Entry", -1, -1),
+        DASHBOARD("Dashboard.fxml", null, "GPA Calculator - Student Dashboard", -1, -1);
+
+        private final String fxml;
+        private final String stylesheet;
+        private final String title;
+        private final double width;
+        private final double height;
+
+        Screen(String fxml, String stylesheet, String title, double width, double height) {
+            this.fxml = fxml;
+            this.stylesheet = stylesheet;
+            this.title = title;
+            this.width = width;
+            this.height = height;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+    }
+
+    /** Hooks for controllers whose scene is reused across visits. */
+    public interface Lifecycle {
+
+        /** Runs before every visit, ahead of the caller's init, to drop whatever the last visit left behind. */
+        default void reset() {
+        }
+
+        /** Runs once the scene is on stage; the place to (re)load data. */
+        default void onShow() {
+        }
+    }
+
+    public static final class TransitionStats {
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private long lastNanos;
+
+        private void record(long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            lastNanos = nanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getAverageMillis() {
+            return count == 0 ? 0.0 : totalNanos / 1_000_000.0 / count;
+        }
+
+        public double getMaxMillis() {
+            return maxNanos / 1_000_000.0;
+        }
+
+        public double getLastMillis() {
+            return lastNanos / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d x, avg %.1f ms, max %.1f ms, last %.1f ms",
+                    count, getAverageMillis(), getMaxMillis(), getLastMillis());
+        }
+    }
+
+    private static final class View {
+        final Parent root;
+        final Object controller;
+        Scene scene;
+
+        View(Parent root, Object controller) {
+            this.root = root;
+            this.controller = controller;
+        }
+    }
+
+    private static final Map<Screen, Task<View>> preloads = new EnumMap<>(Screen.class);
+    private static final Map<Screen, View> views = new EnumMap<>(Screen.class);
+    // "HOME -> ENTRY" -> timings, in first-seen order.
+    private static final Map<String, TransitionStats> transitions = new LinkedHashMap<>();
+
+    private static Stage stage;
+    private static Screen current;
+
+    private SceneNavigator() {
+    }
+
+
+    public static void init(Stage primaryStage) {
+        stage = primaryStage;
+    }
+
+    /** Starts parsing the given screens in the background; showing one before it is ready waits for it. */
+    public static void preload(Screen... screens) {
+        for (Screen screen : screens) {
+            if (views.containsKey(screen) || preloads.containsKey(screen)) {
+                continue;
+            }
+            // FXML may be loaded off the FX thread as long as the nodes are not yet in a showing scene.
+            Task<View> task = new Task<>() {
+                @Override
+                protected View call() throws IOException {
+                    return load(screen);
+                }
+            };
+            preloads.put(screen, task);
+            BackgroundExecutor.submit(task);
+        }
+    }
+
+
+    public static <C> C show(Screen screen) throws IOException {
+        return show(screen, screen.getTitle(), controller -> {
+        });
+    }
+
+    public static <C> C show(Screen screen, Consumer<C> init) throws IOException {
+        return show(screen, screen.getTitle(), init);
+    }
+
+    /** Shows {@code screen}, running {@code init} on its controller after {@link Lifecycle#reset()} and before the scene is swapped in. */
+    @SuppressWarnings("unchecked")
+    public static <C> C show(Screen screen, String title, Consumer<C> init) throws IOException {
+        long start = System.nanoTime();
+
+        View view = view(screen);
+        C controller = (C) view.controller;
+        if (controller instanceof Lifecycle lifecycle) {
+            lifecycle.reset();
+        }
+        init.accept(controller);
+
+        if (view.scene == null) {
+            view.scene = new Scene(view.root, screen.width, screen.height);
+            if (screen.stylesheet != null) {
+                view.scene.getStylesheets().add(resource(screen.stylesheet).toExternalForm());
+            }
+        }
+
+        Screen from = current;
+        current = screen;
+        stage.setScene(view.scene);
+        stage.setTitle(title);
+        stage.show();
+
+        if (controller instanceof Lifecycle lifecycle) {
+            lifecycle.onShow();
+        }
+        timeFirstLayout(view.scene, (from == null ? "START" : from.name()) + " -> " + screen.name(), start);
+        return controller;
+    }
+
+
+    public static Screen getCurrentScreen() {
+        return current;
+    }
+
+    public static Map<String, TransitionStats> getTransitionStats() {
+        return new LinkedHashMap<>(transitions);
+    }
+
+
+    private static View view(Screen screen) throws IOException {
+        View view = views.get(screen);
+        if (view != null) {
+            return view;
+        }
+
+        Task<View> preload = preloads.remove(screen);
+        if (preload != null) {
+            try {
+                view = preload.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                System.err.println("Preloading " + screen.fxml + " failed, loading it now: " + e.getCause().getMessage());
+            }
+        }
+        if (view == null) {
+            view = load(screen);
+        }
+        views.put(screen, view);
+        return view;
+    }
+
+    private static View load(Screen screen) throws IOException {
+        FXMLLoader loader = new FXMLLoader(resource(screen.fxml));
+        Parent root = loader.load();
+        return new View(root, loader.getController());
+    }
+
+    private static URL resource(String name) throws IOException {
+        URL url = MainApp.class.getResource("/com/gpa/app/" + name);
+        if (url == null) {
+            throw new IOException("Missing resource /com/gpa/app/" + name);
+        }
+        return url;
+    }
+
+
+    private static void timeFirstLayout(Scene scene, String transition, long startNanos) {
+        afterFirstLayout(scene, () -> {
+            long elapsed = System.nanoTime() - startNanos;
+            TransitionStats stats = transitions.computeIfAbsent(transition, key -> new TransitionStats());
+            stats.record(elapsed);
+            if (TRACE) {
+                System.out.printf("Navigation %s: %.1f ms (%s)%n", transition, elapsed / 1_000_000.0, stats);
+            }
+        });
+    }
+
+    /** Runs {@code action} once, on the FX thread, after the next layout pulse of {@code scene}. */
+    public static void afterFirstLayout(Scene scene, Runnable action) {
+        Runnable probe = new Runnable() {
+            private boolean fired;
+
+            @Override
+            public void run() {
+                if (fired) {
+                    return;
+                }
+                fired = true;
+                action.run();
+                // Listeners cannot be removed while the pulse is iterating over them.
+                Platform.runLater(() -> scene.removePostLayoutPulseListener(this));
+            }
+        };
+        scene.addPostLayoutPulseListener(probe);
+    }
+}
@@ -0,0 +1,295 @@
+package com.gpa.app.db;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+public class ConnectionPool implements AutoCloseable {
+
+    private final String url;
+    private final int readPoolSize;
+    private final long maxWaitMillis;
+    private final StorageProfile profile;
+
+    private final Slot writer;
+    private final Semaphore writerPermit = new Semaphore(1, true);
+    private final BlockingQueue<Slot> idleReaders;
+    private final List<Slot> allReaders = new ArrayList<>();
+
+    private final AtomicLong acquisitions = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong statementCacheHits = new AtomicLong();
+    private final AtomicLong statementCacheMisses = new AtomicLong();
+
+    private volatile boolean closed = false;
+
+    public ConnectionPool(String url, int readPoolSize, long maxWaitMillis, StorageProfile profile) throws SQLException {
+        if (readPoolSize < 1) {
+            throw new IllegalArgumentException("Read pool size must be at least 1, got " + readPoolSize);
+        }
+        this.url = url;
+        this.readPoolSize = readPoolSize;
+        this.maxWaitMillis = maxWaitMillis;
+        this.profile = profile;
+
+        this.writer = new Slot(open(false), false);
+        this.idleReaders = new ArrayBlockingQueue<>(readPoolSize);
+        for (int i = 0; i < readPoolSize; i++) {
+            Slot reader = new Slot(open(true), true);
+            allReaders.add(reader);
+            idleReaders.add(reader);
+        }
+    }
+
+    private Connection open(boolean readOnly) throws SQLException {
+        Connection conn = DriverManager.getConnection(url);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA busy_timeout = " + Math.max(maxWaitMillis, 1000));
+            stmt.execute("PRAGMA foreign_keys = ON");
+            profile.apply(stmt, !readOnly);
+            if (readOnly) {
+                stmt.execute("PRAGMA query_only = ON");
+            }
+        }
+        return conn;
+    }
+
+
+    public PooledConnection acquireReader() throws SQLException {
+        ensureOpen();
+        long start = System.nanoTime();
+        Slot reader;
+        try {
+            reader = idleReaders.poll(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a read connection.", e);
+        }
+        if (reader == null) {
+            throw new SQLTimeoutException("No read connection available after " + maxWaitMillis + " ms.");
+        }
+        recordWait(start);
+        return new PooledConnection(reader);
+    }
+
+
+    public PooledConnection acquireWriter() throws SQLException {
+        ensureOpen();
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = writerPermit.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the write connection.", e);
+        }
+        if (!acquired) {
+            throw new SQLTimeoutException("Write connection not available after " + maxWaitMillis + " ms.");
+        }
+        recordWait(start);
+        return new PooledConnection(writer);
+    }
+
+    private void recordWait(long start) {
+        long waited = System.nanoTime() - start;
+        acquisitions.incrementAndGet();
+        totalWaitNanos.addAndGet(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+    }
+
+    private void ensureOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool has been closed.");
+        }
+    }
+
+    private void release(Slot slot) {
+        if (slot.readOnly) {
+            idleReaders.offer(slot);
+        } else {
+            writerPermit.release();
+        }
+    }
+
+
+    public int getReadPoolSize() {
+        return readPoolSize;
+    }
+
+    public int getIdleReaders() {
+        return idleReaders.size();
+    }
+
+    public StorageProfile getStorageProfile() {
+        return profile;
+    }
+
+    public long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    public long getAcquisitions() {
+        return acquisitions.get();
+    }
+
+    public double getAverageWaitMillis() {
+        long count = acquisitions.get();
+        return count == 0 ? 0.0 : totalWaitNanos.get() / 1_000_000.0 / count;
+    }
+
+    public double getMaxWaitObservedMillis() {
+        return maxWaitNanos.get() / 1_000_000.0;
+    }
+
+    public long getStatementCacheHits() {
+        return statementCacheHits.get();
+    }
+
+    public long getStatementCacheMisses() {
+        return statementCacheMisses.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConnectionPool[profile=%s, readers=%d, idle=%d, acquisitions=%d, avgWait=%.3fms, maxWait=%.3fms, stmtHits=%d, stmtMisses=%d]",
+                profile, readPoolSize, getIdleReaders(), getAcquisitions(), getAverageWaitMillis(), getMaxWaitObservedMillis(),
+                getStatementCacheHits(), getStatementCacheMisses());
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        writer.closeQuietly();
+        for (Slot reader : allReaders) {
+            reader.closeQuietly();
+        }
+    }
+
+
+    /**
+     * A leased connection. Closing it hands it back to the pool; closing it again does nothing.
+     * Statements obtained through {@link #prepare(String)} are cached per underlying connection and
+     * must not be closed by the caller.
+     */
+    public class PooledConnection implements AutoCloseable {
+
+        private final Slot slot;
+        private boolean released;
+
+        private PooledConnection(Slot slot) {
+            this.slot = slot;
+        }
+
+        public Connection getConnection() {
+            return slot.connection;
+        }
+
+        public boolean isReadOnly() {
+            return slot.readOnly;
+        }
+
+        public PreparedStatement prepare(String sql) throws SQLException {
+            return cached(slot.statements, sql, false);
+        }
+
+        public PreparedStatement prepareReturningKeys(String sql) throws SQLException {
+            return cached(slot.keyedStatements, sql, true);
+        }
+
+        private PreparedStatement cached(Map<String, PreparedStatement> cache, String sql, boolean returnKeys) throws SQLException {
+            if (released) {
+                throw new SQLException("Connection has already been returned to the pool.");
+            }
+            PreparedStatement stmt = cache.get(sql);
+            if (stmt != null) {
+                statementCacheHits.incrementAndGet();
+                stmt.clearParameters();
+                return stmt;
+            }
+            statementCacheMisses.incrementAndGet();
+            stmt = returnKeys
+                    ? slot.connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+                    : slot.connection.prepareStatement(sql);
+            cache.put(sql, stmt);
+            return stmt;
+        }
+
+
+        public void beginTransaction() throws SQLException {
+            slot.connection.setAutoCommit(false);
+        }
+
+        public void commit() throws SQLException {
+            slot.connection.commit();
+            slot.connection.setAutoCommit(true);
+        }
+
+        public void rollbackQuietly() {
+            try {
+                slot.connection.rollback();
+                slot.connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                System.err.println("Rollback failed: " + e.getMessage());
+            }
+        }
+
+        @Override
+        public void close() {
+            // Each lease gets its own handle, so a second close cannot hand back a connection someone else now holds.
+            if (released) {
+                return;
+            }
+            released = true;
+            try {
+                if (!slot.connection.getAutoCommit()) {
+                    // A lease returned mid-transaction means the caller bailed out; never leak it to the next user.
+                    rollbackQuietly();
+                }
+            } catch (SQLException e) {
+                System.err.println("Could not inspect connection state: " + e.getMessage());
+            }
+            release(slot);
+        }
+    }
+
+
+    /** One physical connection and its statement cache, handed out through a fresh PooledConnection per lease. */
+    private static class Slot {
+
+        private final Connection connection;
+        private final boolean readOnly;
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+        private final Map<String, PreparedStatement> keyedStatements = new HashMap<>();
+
+        private Slot(Connection connection, boolean readOnly) {
+            this.connection = connection;
+            this.readOnly = readOnly;
+        }
+
+        private void closeQuietly() {
+            try {
+                for (PreparedStatement stmt : statements.values()) {
+                    stmt.close();
+                }
+                for (PreparedStatement stmt : keyedStatements.values()) {
+                    stmt.close();
+                }
+                connection.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing pooled connection: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.gpa.app.db;
+
+import java.util.Arrays;
+
+
+/**
+ * A block of Courses rows held column by column, ordered by entry_id, plus per-entry result columns
+ * that a recomputation fills in before the block is written back.
+ */
+public class CourseColumns {
+
+    private long[] courseIds;
+    private int[] entryIds;
+    private double[] credits;
+    private double[] gradePoints;
+    private String[] gradeLetters;
+    private int size;
+
+    // One slot per distinct entry in the block, in entry_id order.
+    private int[] entryStarts;
+    private int[] distinctEntryIds;
+    private String[] entryScales;
+    private double[] entryGpa;
+    private double[] entryCredits;
+    private int entryCount;
+    // Entries in the block's id range, including those without any course rows.
+    private int blockEntryCount;
+
+    public CourseColumns(int capacity) {
+        int n = Math.max(capacity, 16);
+        courseIds = new long[n];
+        entryIds = new int[n];
+        credits = new double[n];
+        gradePoints = new double[n];
+        gradeLetters = new String[n];
+        entryStarts = new int[n + 1];
+        distinctEntryIds = new int[n];
+        entryScales = new String[n];
+        entryGpa = new double[n];
+        entryCredits = new double[n];
+    }
+
+
+    public void clear() {
+        size = 0;
+        entryCount = 0;
+        blockEntryCount = 0;
+    }
+
+    void setBlockEntryCount(int blockEntryCount) {
+        this.blockEntryCount = blockEntryCount;
+    }
+
+    void add(long courseId, int entryId, double credit, String gradeLetter, double gradePoint, String gradingScale) {
+        if (size == courseIds.length) {
+            grow();
+        }
+        if (entryCount == 0 || distinctEntryIds[entryCount - 1] != entryId) {
+            entryStarts[entryCount] = size;
+            distinctEntryIds[entryCount] = entryId;
+            entryScales[entryCount] = gradingScale;
+            entryCount++;
+        }
+        courseIds[size] = courseId;
+        entryIds[size] = entryId;
+        credits[size] = credit;
+        gradeLetters[size] = gradeLetter;
+        gradePoints[size] = gradePoint;
+        size++;
+        entryStarts[entryCount] = size;
+    }
+
+    private void grow() {
+        int n = courseIds.length * 2;
+        courseIds = Arrays.copyOf(courseIds, n);
+        entryIds = Arrays.copyOf(entryIds, n);
+        credits = Arrays.copyOf(credits, n);
+        gradePoints = Arrays.copyOf(gradePoints, n);
+        gradeLetters = Arrays.copyOf(gradeLetters, n);
+        entryStarts = Arrays.copyOf(entryStarts, n + 1);
+        distinctEntryIds = Arrays.copyOf(distinctEntryIds, n);
+        entryScales = Arrays.copyOf(entryScales, n);
+        entryGpa = Arrays.copyOf(entryGpa, n);
+        entryCredits = Arrays.copyOf(entryCredits, n);
+    }
+
+
+    public int size() {
+        return size;
+    }
+
+    public long[] getCourseIds() {
+        return courseIds;
+    }
+
+    public int[] getEntryIds() {
+        return entryIds;
+    }
+
+    public double[] getCredits() {
+        return credits;
+    }
+
+    public double[] getGradePoints() {
+        return gradePoints;
+    }
+
+    public String[] getGradeLetters() {
+        return gradeLetters;
+    }
+
+    /** Entries with at least one course; only these have slots in the per-entry arrays. */
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    /** Every entry in the loaded id range, {@link #getEntryCount()} plus those without courses. */
+    public int getBlockEntryCount() {
+        return blockEntryCount;
+    }
+
+    /** Courses of the i-th entry are {@code [getEntryStarts()[i], getEntryStarts()[i + 1])}. */
+    public int[] getEntryStarts() {
+        return entryStarts;
+    }
+
+    public int[] getDistinctEntryIds() {
+        return distinctEntryIds;
+    }
+
+    public String[] getEntryScales() {
+        return entryScales;
+    }
+
+    public double[] getEntryGpa() {
+        return entryGpa;
+    }
+
+    public double[] getEntryCredits() {
+        return entryCredits;
+    }
+}
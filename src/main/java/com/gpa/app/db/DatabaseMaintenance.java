@@ -0,0 +1,114 @@
+package com.gpa.app.db;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Background upkeep for one pool on a single daemon thread: passive WAL checkpoints keep the -wal
+ * file from growing while readers are busy, and {@code PRAGMA optimize} refreshes planner
+ * statistics for tables whose contents shifted. Both also run once when the service closes.
+ */
+public class DatabaseMaintenance implements AutoCloseable {
+
+    private final ConnectionPool pool;
+    private final ScheduledExecutorService scheduler;
+
+    private final AtomicLong checkpoints = new AtomicLong();
+    private final AtomicLong checkpointedFrames = new AtomicLong();
+    private final AtomicLong optimizations = new AtomicLong();
+
+    DatabaseMaintenance(ConnectionPool pool, long checkpointIntervalSeconds, long optimizeIntervalMinutes) {
+        this.pool = pool;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "gpa-db-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        if (pool.getStorageProfile().isWal() && checkpointIntervalSeconds > 0) {
+            scheduler.scheduleWithFixedDelay(this::checkpointQuietly,
+                    checkpointIntervalSeconds, checkpointIntervalSeconds, TimeUnit.SECONDS);
+        }
+        if (optimizeIntervalMinutes > 0) {
+            scheduler.scheduleWithFixedDelay(this::optimizeQuietly,
+                    optimizeIntervalMinutes, optimizeIntervalMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+
+    /**
+     * Copies committed WAL frames back into the database without waiting on readers or the writer.
+     * Returns the number of frames checkpointed, or 0 when not in WAL mode.
+     */
+    public int checkpoint() throws SQLException {
+        if (!pool.getStorageProfile().isWal()) {
+            return 0;
+        }
+        try (ConnectionPool.PooledConnection conn = pool.acquireWriter();
+             Statement stmt = conn.getConnection().createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA wal_checkpoint(PASSIVE)")) {
+            // Columns: busy flag, frames in the WAL, frames checkpointed.
+            int frames = rs.next() ? Math.max(rs.getInt(3), 0) : 0;
+            checkpoints.incrementAndGet();
+            checkpointedFrames.addAndGet(frames);
+            return frames;
+        }
+    }
+
+    public void optimize() throws SQLException {
+        try (ConnectionPool.PooledConnection conn = pool.acquireWriter();
+             Statement stmt = conn.getConnection().createStatement()) {
+            stmt.execute("PRAGMA optimize");
+            optimizations.incrementAndGet();
+        }
+    }
+
+    private void checkpointQuietly() {
+        try {
+            checkpoint();
+        } catch (SQLException e) {
+            System.err.println("WAL checkpoint failed: " + e.getMessage());
+        }
+    }
+
+    private void optimizeQuietly() {
+        try {
+            optimize();
+        } catch (SQLException e) {
+            System.err.println("PRAGMA optimize failed: " + e.getMessage());
+        }
+    }
+
+
+    public long getCheckpoints() {
+        return checkpoints.get();
+    }
+
+    public long getCheckpointedFrames() {
+        return checkpointedFrames.get();
+    }
+
+    public long getOptimizations() {
+        return optimizations.get();
+    }
+
+
+    // Must run before the pool closes: the final pass borrows its writer.
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        optimizeQuietly();
+        checkpointQuietly();
+    }
+}
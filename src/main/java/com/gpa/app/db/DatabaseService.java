@@ -1,119 +1,373 @@
 package com.gpa.app.db;
 
+import com.gpa.app.metrics.AppMetrics;
+import com.gpa.app.metrics.OperationMetrics;
 import com.gpa.app.model.Course;
+import com.gpa.app.model.CourseStats;
 import com.gpa.app.model.GPAEntry;
+import com.gpa.app.model.GPARecord;
 import com.gpa.app.model.Student;
+import com.gpa.app.model.StudentAggregate;
 
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class DatabaseService {
 
     private static DatabaseService instance;
-    private static final String URL = "jdbc:sqlite:gpa_records.db";
-
-    private DatabaseService() {
+    private static final String URL = System.getProperty("gpa.db.url", "jdbc:sqlite:gpa_records.db");
+    private static final int READ_POOL_SIZE = Integer.getInteger("gpa.db.readPoolSize", 4);
+    private static final long POOL_MAX_WAIT_MILLIS = Long.getLong("gpa.db.poolMaxWaitMillis", 5000L);
+    private static final boolean VERIFY_QUERY_PLANS = Boolean.getBoolean("gpa.db.verifyQueryPlans");
+    private static final StorageProfile STORAGE_PROFILE = StorageProfile.fromName(System.getProperty("gpa.db.profile"));
+    private static final long CHECKPOINT_INTERVAL_SECONDS = Long.getLong("gpa.db.checkpointIntervalSeconds", 300L);
+    private static final long OPTIMIZE_INTERVAL_MINUTES = Long.getLong("gpa.db.optimizeIntervalMinutes", 60L);
+    private static final int STREAM_FETCH_SIZE = Integer.getInteger("gpa.db.streamFetchSize", 256);
+    // Long reads go page by page on a fresh reader, so under the rollback journal their shared lock
+    // never outlasts one page and writers, ingestion included, only wait for that.
+    private static final int STREAM_PAGE_SIZE = Integer.getInteger("gpa.db.streamPageSize", 1024);
+
+    static final String SELECT_STUDENT_ID_SQL = "SELECT student_id FROM Students WHERE first_name = ? AND last_name = ?";
+    static final String UPSERT_STUDENT_SQL = "INSERT INTO Students (first_name, last_name) VALUES (?, ?) " +
+            "ON CONFLICT (first_name, last_name) DO NOTHING RETURNING student_id";
+    static final String SELECT_ALL_STUDENTS_SQL = "SELECT student_id, first_name, last_name FROM Students ORDER BY first_name, last_name";
+    static final String SELECT_STUDENTS_PAGE_SQL = "SELECT student_id, first_name, last_name FROM Students " +
+            "WHERE (first_name, last_name) > (?, ?) ORDER BY first_name, last_name LIMIT ?";
+    static final String SEARCH_STUDENTS_PAGE_SQL = "SELECT student_id, first_name, last_name FROM Students " +
+            "WHERE search_key >= ? AND search_key < ? AND (search_key, first_name, last_name) > (?, ?, ?) " +
+            "ORDER BY search_key, first_name, last_name LIMIT ?";
+    static final String SEARCH_STUDENTS_OPEN_PAGE_SQL = "SELECT student_id, first_name, last_name FROM Students " +
+            "WHERE search_key >= ? AND (search_key, first_name, last_name) > (?, ?, ?) " +
+            "ORDER BY search_key, first_name, last_name LIMIT ?";
+    static final String DELETE_STUDENT_SQL = "DELETE FROM Students WHERE student_id = ?";
+    static final String INSERT_ENTRY_SQL = "INSERT INTO GPAEntries (student_id, gpa_value, total_credits, calculated_at, grading_scale) VALUES (?, ?, ?, ?, ?)";
+    static final String INSERT_COURSE_SQL = "INSERT INTO Courses (entry_id, course_name, course_code, course_key, credit, teacher1, teacher2, grade_letter, grade_point) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    static final String SELECT_ALL_ENTRIES_SQL = "SELECT e.entry_id, e.student_id, s.first_name, s.last_name, e.gpa_value, e.total_credits, e.calculated_at, e.grading_scale " +
+            "FROM GPAEntries e JOIN Students s ON e.student_id = s.student_id " +
+            "ORDER BY e.calculated_at DESC";
+    static final String SELECT_ENTRIES_FOR_STUDENT_SQL = "SELECT e.entry_id, e.gpa_value, e.total_credits, e.calculated_at, e.grading_scale, s.first_name, s.last_name " +
+            "FROM GPAEntries e JOIN Students s ON e.student_id = s.student_id " +
+            "WHERE e.student_id = ? ORDER BY e.calculated_at DESC";
+    static final String SELECT_ENTRIES_BETWEEN_SQL = "SELECT e.entry_id, e.student_id, s.first_name, s.last_name, e.gpa_value, e.total_credits, e.calculated_at, e.grading_scale " +
+            "FROM GPAEntries e JOIN Students s ON e.student_id = s.student_id " +
+            "WHERE e.calculated_at >= ? AND e.calculated_at < ? ORDER BY e.calculated_at DESC";
+    static final String SELECT_STUDENT_ENTRIES_BETWEEN_SQL = "SELECT e.entry_id, e.student_id, s.first_name, s.last_name, e.gpa_value, e.total_credits, e.calculated_at, e.grading_scale " +
+            "FROM GPAEntries e JOIN Students s ON e.student_id = s.student_id " +
+            "WHERE e.student_id = ? AND e.calculated_at >= ? AND e.calculated_at < ? ORDER BY e.calculated_at DESC";
+    // GPAEntryFilter adds its WHERE clause between these two parts.
+    static final String STREAM_ENTRIES_SELECT = "SELECT e.entry_id, e.student_id, s.first_name, s.last_name, e.gpa_value, e.total_credits, e.calculated_at, e.grading_scale " +
+            "FROM GPAEntries e JOIN Students s ON e.student_id = s.student_id ";
+    static final String STREAM_ENTRIES_ORDER = "ORDER BY e.entry_id LIMIT ?";
+    static final String SELECT_COURSES_FOR_ENTRY_SQL = "SELECT course_name, course_code, credit, teacher1, teacher2, grade_letter, grade_point " +
+            "FROM Courses WHERE entry_id = ?";
+    static final String SELECT_LATEST_ENTRY_WITH_COURSES_SQL = "SELECT e.entry_id, e.gpa_value, e.total_credits, e.calculated_at, e.grading_scale, s.first_name, s.last_name, " +
+            "c.course_name, c.course_code, c.credit, c.teacher1, c.teacher2, c.grade_letter, c.grade_point " +
+            "FROM (SELECT entry_id, student_id, gpa_value, total_credits, calculated_at, grading_scale FROM GPAEntries " +
+            "WHERE student_id = ? ORDER BY calculated_at DESC LIMIT 1) e " +
+            "JOIN Students s ON e.student_id = s.student_id " +
+            "LEFT JOIN Courses c ON c.entry_id = e.entry_id";
+    static final String DELETE_ENTRY_SQL = "DELETE FROM GPAEntries WHERE entry_id = ? RETURNING student_id, gpa_value, total_credits";
+    static final String SELECT_LATEST_ENTRY_ID_SQL = "SELECT entry_id FROM GPAEntries WHERE student_id = ? ORDER BY calculated_at DESC LIMIT 1";
+    static final String SELECT_RECORDS_PAGE_SQL = "SELECT e.entry_id, e.student_id, s.first_name, s.last_name, e.gpa_value, e.total_credits, e.calculated_at, e.grading_scale, " +
+            "c.course_name, c.course_code, c.credit, c.teacher1, c.teacher2, c.grade_letter, c.grade_point " +
+            "FROM GPAEntries e JOIN Students s ON e.student_id = s.student_id " +
+            "LEFT JOIN Courses c ON c.entry_id = e.entry_id " +
+            "WHERE e.entry_id > ? AND e.entry_id <= COALESCE(" +
+            "(SELECT entry_id FROM GPAEntries WHERE entry_id > ? ORDER BY entry_id LIMIT 1 OFFSET ?), " +
+            "(SELECT MAX(entry_id) FROM GPAEntries)) ORDER BY e.entry_id";
+
+    static final String COUNT_ENTRIES_AFTER_SQL = "SELECT COUNT(*) FROM GPAEntries WHERE entry_id > ?";
+    static final String COUNT_ENTRIES_BETWEEN_IDS_SQL = "SELECT COUNT(*) FROM GPAEntries WHERE entry_id > ? AND entry_id <= ?";
+    static final String SELECT_CHUNK_END_SQL = "SELECT COALESCE(" +
+            "(SELECT entry_id FROM GPAEntries WHERE entry_id > ? ORDER BY entry_id LIMIT 1 OFFSET ?), " +
+            "(SELECT MAX(entry_id) FROM GPAEntries))";
+    static final String SELECT_COURSE_COLUMNS_SQL = "SELECT c.course_id, c.entry_id, c.credit, c.grade_letter, c.grade_point, e.grading_scale " +
+            "FROM Courses c JOIN GPAEntries e ON e.entry_id = c.entry_id " +
+            "WHERE c.entry_id > ? AND c.entry_id <= ? ORDER BY c.entry_id, c.course_id";
+    static final String UPDATE_COURSE_POINT_SQL = "UPDATE Courses SET grade_point = ? WHERE course_id = ?";
+    static final String UPDATE_ENTRY_TOTALS_SQL = "UPDATE GPAEntries SET gpa_value = ?, total_credits = ? WHERE entry_id = ?";
+    static final String SELECT_CHECKPOINT_SQL = "SELECT last_entry_id FROM job_checkpoints WHERE job_name = ?";
+    static final String UPSERT_CHECKPOINT_SQL = "INSERT INTO job_checkpoints (job_name, last_entry_id, updated_at) VALUES (?, ?, ?) " +
+            "ON CONFLICT (job_name) DO UPDATE SET last_entry_id = excluded.last_entry_id, updated_at = excluded.updated_at";
+    static final String DELETE_CHECKPOINT_SQL = "DELETE FROM job_checkpoints WHERE job_name = ?";
+
+    static final String ADD_TO_AGGREGATE_SQL = "INSERT INTO StudentAggregates (student_id, weighted_points, total_credits, entry_count) " +
+            "VALUES (?, ?, ?, 1) ON CONFLICT (student_id) DO UPDATE SET " +
+            "weighted_points = weighted_points + excluded.weighted_points, " +
+            "total_credits = total_credits + excluded.total_credits, entry_count = entry_count + 1";
+    // Removing the last entry resets the sums to exactly zero, so rounding error cannot linger.
+    static final String SUBTRACT_FROM_AGGREGATE_SQL = "UPDATE StudentAggregates SET " +
+            "weighted_points = CASE WHEN entry_count <= 1 THEN 0 ELSE weighted_points - ? END, " +
+            "total_credits = CASE WHEN entry_count <= 1 THEN 0 ELSE total_credits - ? END, " +
+            "entry_count = MAX(entry_count - 1, 0) WHERE student_id = ?";
+    static final String SELECT_AGGREGATE_SQL = "SELECT weighted_points, total_credits, entry_count FROM StudentAggregates WHERE student_id = ?";
+    static final String REFRESH_AGGREGATES_FOR_ENTRIES_SQL = "REPLACE INTO StudentAggregates (student_id, weighted_points, total_credits, entry_count) " +
+            "SELECT student_id, SUM(gpa_value * total_credits), SUM(total_credits), COUNT(*) FROM GPAEntries " +
+            "WHERE student_id IN (SELECT student_id FROM GPAEntries WHERE entry_id >= ? AND entry_id <= ?) GROUP BY student_id";
+    static final String DELETE_ALL_AGGREGATES_SQL = "DELETE FROM StudentAggregates";
+    static final String REBUILD_AGGREGATES_SQL = "INSERT INTO StudentAggregates (student_id, weighted_points, total_credits, entry_count) " +
+            "SELECT student_id, SUM(gpa_value * total_credits), SUM(total_credits), COUNT(*) FROM GPAEntries GROUP BY student_id";
+    static final String COMPARE_AGGREGATES_SQL = "SELECT s.student_id, " +
+            "a.weighted_points, a.total_credits, a.entry_count, r.weighted_points, r.total_credits, r.entry_count " +
+            "FROM Students s LEFT JOIN StudentAggregates a ON a.student_id = s.student_id " +
+            "LEFT JOIN (SELECT student_id, SUM(gpa_value * total_credits) AS weighted_points, SUM(total_credits) AS total_credits, " +
+            "COUNT(*) AS entry_count FROM GPAEntries GROUP BY student_id) r ON r.student_id = s.student_id";
+
+    static final String ADD_TO_COURSE_STATS_SQL = "INSERT INTO CourseStats (course_key, enrollment, total_credits, grade_point_sum, passed) " +
+            "VALUES (?, 1, ?, ?, ?) ON CONFLICT (course_key) DO UPDATE SET enrollment = enrollment + 1, " +
+            "total_credits = total_credits + excluded.total_credits, " +
+            "grade_point_sum = grade_point_sum + excluded.grade_point_sum, passed = passed + excluded.passed";
+    static final String ADD_TO_GRADE_COUNT_SQL = "INSERT INTO CourseGradeCounts (course_key, grade_letter, enrollment) VALUES (?, ?, 1) " +
+            "ON CONFLICT (course_key, grade_letter) DO UPDATE SET enrollment = enrollment + 1";
+    static final String SELECT_ENTRY_COURSE_KEYS_SQL = "SELECT course_key, credit, grade_letter, grade_point FROM Courses WHERE entry_id = ?";
+    // As with student totals, the last enrollment going resets the sums to exactly zero.
+    static final String SUBTRACT_FROM_COURSE_STATS_SQL = "UPDATE CourseStats SET " +
+            "total_credits = CASE WHEN enrollment <= 1 THEN 0 ELSE total_credits - ? END, " +
+            "grade_point_sum = CASE WHEN enrollment <= 1 THEN 0 ELSE grade_point_sum - ? END, " +
+            "passed = MAX(passed - ?, 0), enrollment = MAX(enrollment - 1, 0) WHERE course_key = ?";
+    static final String SUBTRACT_FROM_GRADE_COUNT_SQL = "UPDATE CourseGradeCounts SET enrollment = MAX(enrollment - 1, 0) " +
+            "WHERE course_key = ? AND grade_letter = ?";
+    static final String ADJUST_COURSE_STATS_POINTS_SQL = "UPDATE CourseStats SET grade_point_sum = grade_point_sum + ?, passed = passed + ? " +
+            "WHERE course_key = (SELECT course_key FROM Courses WHERE course_id = ?)";
+    static final String SELECT_STUDENT_ENTRY_IDS_SQL = "SELECT entry_id FROM GPAEntries WHERE student_id = ?";
+    static final String SELECT_COURSE_STATS_SQL = "SELECT enrollment, total_credits, grade_point_sum, passed FROM CourseStats WHERE course_key = ?";
+    static final String SELECT_COURSE_GRADE_COUNTS_SQL = "SELECT grade_letter, enrollment FROM CourseGradeCounts " +
+            "WHERE course_key = ? AND enrollment > 0 ORDER BY grade_letter";
+    static final String SELECT_ALL_COURSE_STATS_SQL = "SELECT course_key, enrollment, total_credits, grade_point_sum, passed FROM CourseStats " +
+            "WHERE enrollment > 0 ORDER BY course_key";
+    static final String SELECT_COURSE_ENTRY_IDS_SQL = "SELECT DISTINCT entry_id FROM Courses WHERE course_key = ? ORDER BY entry_id";
+    static final String DELETE_ALL_COURSE_STATS_SQL = "DELETE FROM CourseStats";
+    static final String DELETE_ALL_GRADE_COUNTS_SQL = "DELETE FROM CourseGradeCounts";
+    static final String REBUILD_COURSE_STATS_SQL = "INSERT INTO CourseStats (course_key, enrollment, total_credits, grade_point_sum, passed) " +
+            "SELECT course_key, COUNT(*), SUM(credit), SUM(grade_point), SUM(grade_point > 0) FROM Courses GROUP BY course_key";
+    static final String REBUILD_GRADE_COUNTS_SQL = "INSERT INTO CourseGradeCounts (course_key, grade_letter, enrollment) " +
+            "SELECT course_key, grade_letter, COUNT(*) FROM Courses GROUP BY course_key, grade_letter";
+
+    private final ConnectionPool pool;
+    private final DatabaseMaintenance maintenance;
+    // Shared by every instance: one latency histogram and error counter per public operation.
+    private final OperationMetrics metrics = AppMetrics.database();
+    // first/last name -> student_id for rows known to be committed, so repeat submissions skip the database.
+    // Another process may delete a cached student; saves that then fail the foreign key look it up again.
+    private final Map<String, Integer> studentIds = new ConcurrentHashMap<>();
+    private final Map<Integer, String> studentKeys = new ConcurrentHashMap<>();
+    private final List<GPAChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final Queue<Consumer<GPAChangeListener>> pendingChanges = new ConcurrentLinkedQueue<>();
+    private final Object changeLock = new Object();
+
+    private DatabaseService(String url, StorageProfile profile) {
+        try {
+            pool = new ConnectionPool(url, READ_POOL_SIZE, POOL_MAX_WAIT_MILLIS, profile);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not open database " + url + ": " + e.getMessage(), e);
+        }
         initializeDatabase();
+        maintenance = new DatabaseMaintenance(pool, CHECKPOINT_INTERVAL_SECONDS, OPTIMIZE_INTERVAL_MINUTES);
     }
 
     public static synchronized DatabaseService getInstance() {
         if (instance == null) {
-            instance = new DatabaseService();
+            instance = new DatabaseService(URL, STORAGE_PROFILE);
         }
         return instance;
     }
 
-    private Connection connect() throws SQLException {
-        return DriverManager.getConnection(URL);
+
+    /** Opens a separate, non-shared service on another database, e.g. a seeded benchmark file. Close it when done. */
+    public static DatabaseService open(String url) {
+        return new DatabaseService(url, STORAGE_PROFILE);
+    }
+
+    public static DatabaseService open(String url, StorageProfile profile) {
+        return new DatabaseService(url, profile);
+    }
+
+
+    public ConnectionPool getConnectionPool() {
+        return pool;
+    }
+
+    public DatabaseMaintenance getMaintenance() {
+        return maintenance;
+    }
+
+
+    public void close() {
+        maintenance.close();
+        pool.close();
+    }
+
+
+    public void addChangeListener(GPAChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeChangeListener(GPAChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    // Called right after commit, still holding the writer, so changes queue up in commit order.
+    private void queueChange(Consumer<GPAChangeListener> event) {
+        if (!listeners.isEmpty()) {
+            pendingChanges.add(event);
+        }
+    }
+
+    // Called once the writer is released, so a slow listener never holds up other writes. Whichever
+    // thread gets here first delivers everything queued so far; a failing listener must not turn a
+    // committed change into an error.
+    private void fireChanges() {
+        synchronized (changeLock) {
+            Consumer<GPAChangeListener> event;
+            while ((event = pendingChanges.poll()) != null) {
+                for (GPAChangeListener listener : listeners) {
+                    try {
+                        event.accept(listener);
+                    } catch (RuntimeException e) {
+                        System.err.println("GPA change listener " + listener + " failed: " + e);
+                    }
+                }
+            }
+        }
+    }
+
+
+    public static synchronized void shutdown() {
+        if (instance != null) {
+            instance.close();
+            instance = null;
+        }
     }
 
     private void initializeDatabase() {
-        try (Connection conn = connect(); Statement stmt = conn.createStatement()) {
-
-            stmt.execute("DROP TABLE IF EXISTS Courses;");
-            stmt.execute("DROP TABLE IF EXISTS GPAEntries;");
-            stmt.execute("DROP TABLE IF EXISTS Students;");
-
-            stmt.execute("CREATE TABLE Students (" +
-                    "student_id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                    "first_name TEXT NOT NULL," +
-                    "last_name TEXT NOT NULL," +
-                    "UNIQUE (first_name, last_name)" +
-                    ");");
-
-
-            stmt.execute("CREATE TABLE GPAEntries (" +
-                    "entry_id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                    "student_id INTEGER NOT NULL," +
-                    "gpa_value REAL NOT NULL," +
-                    "total_credits REAL NOT NULL," +
-                    "date_calculated TEXT NOT NULL," + // Stored as ISO 8601 string
-                    "FOREIGN KEY (student_id) REFERENCES Students(student_id) ON DELETE CASCADE" +
-                    ");");
-
-
-            stmt.execute("CREATE TABLE Courses (" +
-                    "course_id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                    "entry_id INTEGER NOT NULL," +
-                    "course_name TEXT NOT NULL," +
-                    "course_code TEXT," +
-                    "credit REAL NOT NULL," +
-                    "teacher1 TEXT," +
-                    "teacher2 TEXT," +
-                    "grade_letter TEXT NOT NULL," +
-                    "grade_point REAL NOT NULL," +
-                    "FOREIGN KEY (entry_id) REFERENCES GPAEntries(entry_id) ON DELETE CASCADE" +
-                    ");");
+        try (ConnectionPool.PooledConnection conn = pool.acquireWriter()) {
+
+            // Existing data is kept across launches; only migrations newer than the stored version run.
+            SchemaMigrator.migrate(conn.getConnection());
 
         } catch (SQLException e) {
             System.err.println("Database initialization failed: " + e.getMessage());
         }
+
+        if (VERIFY_QUERY_PLANS) {
+            try {
+                List<String> violations = verifyQueryPlans();
+                if (!violations.isEmpty()) {
+                    throw new IllegalStateException("Queries fell back to a table scan: " + violations);
+                }
+            } catch (SQLException e) {
+                System.err.println("Query plan verification failed: " + e.getMessage());
+            }
+        }
+    }
+
+
+    public List<String> verifyQueryPlans() throws SQLException {
+        return metrics.time("verifyQueryPlans", this::doVerifyQueryPlans);
+    }
+
+    private List<String> doVerifyQueryPlans() throws SQLException {
+        try (ConnectionPool.PooledConnection conn = pool.acquireReader()) {
+            return QueryPlanVerifier.findViolations(conn.getConnection());
+        }
     }
 
 
     public Student saveOrGetStudent(String firstName, String lastName) throws SQLException {
-        String selectSql = "SELECT student_id FROM Students WHERE first_name = ? AND last_name = ?";
-        String insertSql = "INSERT INTO Students (first_name, last_name) VALUES (?, ?)";
+        return metrics.time("saveOrGetStudent", () -> doSaveOrGetStudent(firstName, lastName));
+    }
 
-        try (Connection conn = connect();
-             PreparedStatement selectStmt = conn.prepareStatement(selectSql);
-             PreparedStatement insertStmt = conn.prepareStatement(insertSql, Statement.RETURN_GENERATED_KEYS)) {
+    private Student doSaveOrGetStudent(String firstName, String lastName) throws SQLException {
+        Integer cachedId = studentIds.get(studentKey(firstName, lastName));
+        if (cachedId != null) {
+            return new Student(cachedId, firstName, lastName);
+        }
 
-            selectStmt.setString(1, firstName);
-            selectStmt.setString(2, lastName);
-            ResultSet rs = selectStmt.executeQuery();
+        try (ConnectionPool.PooledConnection conn = pool.acquireWriter()) {
+            Student student = resolveStudent(conn, firstName, lastName);
+            cacheStudent(studentKey(firstName, lastName), student.getStudentId());
+            return student;
+        }
+    }
 
-            if (rs.next()) {
+    // Does not touch the name cache: inside a transaction the id only becomes real once the caller commits.
+    private Student resolveStudent(ConnectionPool.PooledConnection conn, String firstName, String lastName) throws SQLException {
 
-                int studentId = rs.getInt("student_id");
-                return new Student(studentId, firstName, lastName);
-            } else {
+        PreparedStatement upsertStmt = conn.prepare(UPSERT_STUDENT_SQL);
+        upsertStmt.setString(1, firstName);
+        upsertStmt.setString(2, lastName);
 
-                insertStmt.setString(1, firstName);
-                insertStmt.setString(2, lastName);
-                insertStmt.executeUpdate();
+        try (ResultSet rs = upsertStmt.executeQuery()) {
+            if (rs.next()) {
+                return new Student(rs.getInt("student_id"), firstName, lastName);
+            }
+        }
 
-                ResultSet generatedKeys = insertStmt.getGeneratedKeys();
-                if (generatedKeys.next()) {
-                    int newId = generatedKeys.getInt(1);
-                    return new Student(newId, firstName, lastName);
-                } else {
-                    throw new SQLException("Creating student failed, no ID obtained.");
-                }
+        // DO NOTHING returns no row when the student already exists; the writer is exclusive, so it cannot vanish in between.
+        PreparedStatement selectStmt = conn.prepare(SELECT_STUDENT_ID_SQL);
+        selectStmt.setString(1, firstName);
+        selectStmt.setString(2, lastName);
+
+        try (ResultSet rs = selectStmt.executeQuery()) {
+            if (rs.next()) {
+                return new Student(rs.getInt("student_id"), firstName, lastName);
             }
         }
+        throw new SQLException("Creating student failed, no ID obtained.");
+    }
+
+    private static String studentKey(String firstName, String lastName) {
+        return firstName + '\u0000' + lastName;
+    }
+
+    private void cacheStudent(String key, int studentId) {
+        studentIds.put(key, studentId);
+        studentKeys.put(studentId, key);
+    }
+
+    private void evictStudent(int studentId) {
+        String key = studentKeys.remove(studentId);
+        if (key != null) {
+            studentIds.remove(key, studentId);
+        }
+    }
+
+    private static boolean isMissingStudent(SQLException e) {
+        return e.getMessage() != null && e.getMessage().contains("FOREIGN KEY constraint failed");
+    }
+
+    // The entry's student id came from the cache and the student has since been deleted elsewhere.
+    private GPAEntry withFreshStudent(GPAEntry entry) throws SQLException {
+        evictStudent(entry.getStudentId());
+        int studentId = doSaveOrGetStudent(entry.getStudentName(), entry.getStudentRoll()).getStudentId();
+        return new GPAEntry(entry.getEntryId(), studentId, entry.getStudentName(), entry.getStudentRoll(),
+                entry.getGpaValue(), entry.getTotalCredits(), entry.getCalculatedAt(), entry.getGradingScale());
     }
 
 
     public List<Student> getAllStudents() throws SQLException {
-        String sql = "SELECT student_id, first_name, last_name FROM Students ORDER BY first_name, last_name";
+        return metrics.time("getAllStudents", this::doGetAllStudents);
+    }
+
+    private List<Student> doGetAllStudents() throws SQLException {
         List<Student> students = new ArrayList<>();
 
-        try (Connection conn = connect();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+        try (ConnectionPool.PooledConnection conn = pool.acquireReader();
+             ResultSet rs = conn.prepare(SELECT_ALL_STUDENTS_SQL).executeQuery()) {
 
             while (rs.next()) {
                 int studentId = rs.getInt("student_id");
@@ -126,189 +380,1156 @@ public class DatabaseService {
     }
 
 
+    /**
+     * Keyset pagination over students in name order. {@code after} is the last student of the previous
+     * page (null for the first page). A non-empty {@code prefix} restricts results to students whose
+     * full name, "first last", starts with it ignoring ASCII case, ordered by that folded name; so
+     * "ali" finds "Alice" and "alice sm" finds "Alice Smith". Browsing is a range scan on the
+     * (first_name, last_name) unique index, searching one on the search_key index.
+     */
+    public List<Student> getStudentsPage(String prefix, Student after, int limit) throws SQLException {
+        return metrics.time("getStudentsPage", () -> doGetStudentsPage(prefix, after, limit));
+    }
+
+    private List<Student> doGetStudentsPage(String prefix, Student after, int limit) throws SQLException {
+        // ('', '') sorts before every real name, since the UI and importer reject blank names.
+        String afterFirst = after == null ? "" : after.getFirstName();
+        String afterLast = after == null ? "" : after.getLastName();
+        boolean search = prefix != null && !prefix.isEmpty();
+
+        List<Student> students = new ArrayList<>(limit);
+
+        try (ConnectionPool.PooledConnection conn = pool.acquireReader()) {
+
+            PreparedStatement pstmt;
+            String key = search ? toSearchKey(prefix) : null;
+            String afterKey = after == null ? "" : toSearchKey(afterFirst + ' ' + afterLast);
+            String upperBound = search ? prefixUpperBound(key) : null;
+            if (upperBound != null) {
+                pstmt = conn.prepare(SEARCH_STUDENTS_PAGE_SQL);
+                pstmt.setString(1, key);
+                pstmt.setString(2, upperBound);
+                pstmt.setString(3, afterKey);
+                pstmt.setString(4, afterFirst);
+                pstmt.setString(5, afterLast);
+                pstmt.setInt(6, limit);
+            } else if (search) {
+                pstmt = conn.prepare(SEARCH_STUDENTS_OPEN_PAGE_SQL);
+                pstmt.setString(1, key);
+                pstmt.setString(2, afterKey);
+                pstmt.setString(3, afterFirst);
+                pstmt.setString(4, afterLast);
+                pstmt.setInt(5, limit);
+            } else {
+                pstmt = conn.prepare(SELECT_STUDENTS_PAGE_SQL);
+                pstmt.setString(1, afterFirst);
+                pstmt.setString(2, afterLast);
+                pstmt.setInt(3, limit);
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    students.add(new Student(rs.getInt("student_id"), rs.getString("first_name"), rs.getString("last_name")));
+                }
+            }
+        }
+        return students;
+    }
+
+    /**
+     * Smallest string greater than every string that starts with prefix, e.g. "Ab" -> "Ac". SQLite
+     * compares UTF-8 bytes, i.e. code points, so this steps code points rather than chars. Returns
+     * null when prefix is made only of U+10FFFF, which nothing sorts above.
+     */
+    // ASCII letters lower-cased, the same as SQLite's lower() that fills Students.search_key.
+    static String toSearchKey(String name) {
+        StringBuilder key = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            key.append(c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+        }
+        return key.toString();
+    }
+
+    static String prefixUpperBound(String prefix) {
+        int end = prefix.length();
+        while (end > 0) {
+            int last = prefix.codePointBefore(end);
+            int start = end - Character.charCount(last);
+            if (last != Character.MAX_CODE_POINT) {
+                int next = last + 1 == Character.MIN_SURROGATE ? Character.MAX_SURROGATE + 1 : last + 1;
+                return prefix.substring(0, start) + Character.toString(next);
+            }
+            end = start;
+        }
+        return null;
+    }
+
+
     public boolean deleteStudent(int studentId) {
-        String sql = "DELETE FROM Students WHERE student_id = ?";
-        try (Connection conn = connect(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, studentId);
-            int affectedRows = pstmt.executeUpdate();
-            return affectedRows > 0;
+        return metrics.time("deleteStudent", () -> doDeleteStudent(studentId));
+    }
+
+    private boolean doDeleteStudent(int studentId) {
+        boolean deleted;
+        try (ConnectionPool.PooledConnection conn = pool.acquireWriter()) {
+            conn.beginTransaction();
+
+            int affectedRows;
+            try {
+                // Entries, courses and the student's totals follow by cascade; course totals do not.
+                PreparedStatement entriesStmt = conn.prepare(SELECT_STUDENT_ENTRY_IDS_SQL);
+                entriesStmt.setInt(1, studentId);
+                List<Integer> entryIds = new ArrayList<>();
+                try (ResultSet rs = entriesStmt.executeQuery()) {
+                    while (rs.next()) {
+                        entryIds.add(rs.getInt("entry_id"));
+                    }
+                }
+                for (int entryId : entryIds) {
+                    subtractCourseStats(conn, entryId);
+                }
+
+                PreparedStatement pstmt = conn.prepare(DELETE_STUDENT_SQL);
+                pstmt.setInt(1, studentId);
+                affectedRows = pstmt.executeUpdate();
+                conn.commit();
+
+            } catch (SQLException e) {
+                conn.rollbackQuietly();
+                throw e;
+            }
+
+            evictStudent(studentId);
+            deleted = affectedRows > 0;
+            if (deleted) {
+                queueChange(listener -> listener.studentDeleted(studentId));
+            }
         } catch (SQLException e) {
             System.err.println("Error deleting student ID " + studentId + ": " + e.getMessage());
             return false;
         }
+        fireChanges();
+        return deleted;
     }
 
 
 
     public int saveGpaEntry(GPAEntry entry, List<Course> courses) throws SQLException {
-        String entrySql = "INSERT INTO GPAEntries (student_id, gpa_value, total_credits, date_calculated) VALUES (?, ?, ?, ?)";
-        String courseSql = "INSERT INTO Courses (entry_id, course_name, course_code, credit, teacher1, teacher2, grade_letter, grade_point) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        return metrics.time("saveGpaEntry", () -> doSaveGpaEntry(entry, courses));
+    }
 
-        int newEntryId = -1;
+    private int doSaveGpaEntry(GPAEntry entry, List<Course> courses) throws SQLException {
+        try {
+            return saveGpaEntryOnce(entry, courses);
+        } catch (SQLException e) {
+            if (!isMissingStudent(e)) {
+                throw e;
+            }
+            return saveGpaEntryOnce(withFreshStudent(entry), courses);
+        }
+    }
 
-        try (Connection conn = connect()) {
-            conn.setAutoCommit(false);
+    private int saveGpaEntryOnce(GPAEntry entry, List<Course> courses) throws SQLException {
+        int newEntryId;
+        try (ConnectionPool.PooledConnection conn = pool.acquireWriter()) {
+            conn.beginTransaction();
 
+            try {
+                newEntryId = insertGpaEntry(conn, entry, courses);
 
-            try (PreparedStatement entryStmt = conn.prepareStatement(entrySql, Statement.RETURN_GENERATED_KEYS)) {
-                entryStmt.setInt(1, entry.getStudentId());
-                entryStmt.setDouble(2, entry.getGpaValue());
-                entryStmt.setDouble(3, entry.getTotalCredits());
-                entryStmt.setString(4, entry.getDate().toString());
-                entryStmt.executeUpdate();
+                conn.commit();
+                queueSaved(newEntryId, entry, courses);
 
-                ResultSet rs = entryStmt.getGeneratedKeys();
-                if (rs.next()) {
-                    newEntryId = rs.getInt(1);
-                } else {
-                    throw new SQLException("Creating GPA entry failed, no ID obtained.");
-                }
+            } catch (SQLException e) {
+                conn.rollbackQuietly();
+                throw e;
+            }
+        }
+        fireChanges();
+        return newEntryId;
+    }
+
+
+    /**
+     * Replaces the student's latest entry with {@code entry} in one transaction on the writer, so
+     * readers see either the old entry or the new one, never neither or both. Saves a first entry if
+     * the student has none yet. Returns the new entry's id.
+     */
+    public int replaceLatestGpaEntry(GPAEntry entry, List<Course> courses) throws SQLException {
+        return metrics.time("replaceLatestGpaEntry", () -> doReplaceLatestGpaEntry(entry, courses));
+    }
+
+    private int doReplaceLatestGpaEntry(GPAEntry entry, List<Course> courses) throws SQLException {
+        try {
+            return replaceLatestGpaEntryOnce(entry, courses);
+        } catch (SQLException e) {
+            if (!isMissingStudent(e)) {
+                throw e;
             }
+            return replaceLatestGpaEntryOnce(withFreshStudent(entry), courses);
+        }
+    }
+
+    private int replaceLatestGpaEntryOnce(GPAEntry entry, List<Course> courses) throws SQLException {
+        int newEntryId;
+        try (ConnectionPool.PooledConnection conn = pool.acquireWriter()) {
+            conn.beginTransaction();
 
+            try {
+                PreparedStatement selectStmt = conn.prepare(SELECT_LATEST_ENTRY_ID_SQL);
+                selectStmt.setInt(1, entry.getStudentId());
 
-            try (PreparedStatement courseStmt = conn.prepareStatement(courseSql)) {
-                for (Course course : courses) {
-                    courseStmt.setInt(1, newEntryId);
-                    courseStmt.setString(2, course.getCourseName());
-                    courseStmt.setString(3, course.getCourseCode());
-                    courseStmt.setDouble(4, course.getCredit());
-                    courseStmt.setString(5, course.getTeacher1());
-                    courseStmt.setString(6, course.getTeacher2());
-                    courseStmt.setString(7, course.getGradeLetter());
-                    courseStmt.setDouble(8, course.getGradePoint());
-                    courseStmt.addBatch();
+                Integer latestEntryId = null;
+                try (ResultSet rs = selectStmt.executeQuery()) {
+                    if (rs.next()) {
+                        latestEntryId = rs.getInt("entry_id");
+                    }
                 }
-                courseStmt.executeBatch();
+                boolean replaced = latestEntryId != null && deleteGpaEntry(conn, latestEntryId);
+
+                newEntryId = insertGpaEntry(conn, entry, courses);
+
+                conn.commit();
+                if (replaced) {
+                    int deletedEntryId = latestEntryId;
+                    queueChange(listener -> listener.entryDeleted(deletedEntryId));
+                }
+                queueSaved(newEntryId, entry, courses);
+
+            } catch (SQLException e) {
+                conn.rollbackQuietly();
+                throw e;
             }
+        }
+        fireChanges();
+        return newEntryId;
+    }
 
-            conn.commit();
-            return newEntryId;
 
+    /**
+     * Saves several complete records in a single transaction, resolving each student by the
+     * entry's name and roll. Either every record is stored or none is.
+     */
+    public int[] saveGpaRecords(List<GPARecord> records) throws SQLException {
+        return metrics.time("saveGpaRecords", () -> doSaveGpaRecords(records));
+    }
+
+    private int[] doSaveGpaRecords(List<GPARecord> records) throws SQLException {
+        try {
+            return saveGpaRecordsOnce(records);
         } catch (SQLException e) {
+            if (!isMissingStudent(e)) {
+                throw e;
+            }
+            // Some cached student was deleted elsewhere; forget the batch's students and resolve them again.
+            for (GPARecord record : records) {
+                Integer cachedId = studentIds.get(studentKey(record.getEntry().getStudentName(), record.getEntry().getStudentRoll()));
+                if (cachedId != null) {
+                    evictStudent(cachedId);
+                }
+            }
+            return saveGpaRecordsOnce(records);
+        }
+    }
 
-            System.err.println("Transaction failed. Rolling back changes: " + e.getMessage());
+    private int[] saveGpaRecordsOnce(List<GPARecord> records) throws SQLException {
+        int[] entryIds = new int[records.size()];
+        GPAEntry[] resolvedEntries = new GPAEntry[records.size()];
+        Map<String, Integer> batchStudentIds = new HashMap<>();
+
+        try (ConnectionPool.PooledConnection conn = pool.acquireWriter()) {
+            conn.beginTransaction();
+
+            try {
+                for (int i = 0; i < records.size(); i++) {
+                    GPAEntry entry = records.get(i).getEntry();
+                    String key = studentKey(entry.getStudentName(), entry.getStudentRoll());
+                    Integer studentId = batchStudentIds.get(key);
+                    if (studentId == null) {
+                        studentId = studentIds.get(key);
+                    }
+                    if (studentId == null) {
+                        studentId = resolveStudent(conn, entry.getStudentName(), entry.getStudentRoll()).getStudentId();
+                    }
+                    batchStudentIds.put(key, studentId);
+
+                    resolvedEntries[i] = new GPAEntry(0, studentId, entry.getStudentName(), entry.getStudentRoll(),
+                            entry.getGpaValue(), entry.getTotalCredits(), entry.getCalculatedAt(), entry.getGradingScale());
+                    entryIds[i] = insertGpaEntry(conn, resolvedEntries[i], records.get(i).getCourses());
+                }
 
-            throw e;
+                conn.commit();
+                batchStudentIds.forEach(this::cacheStudent);
+                for (int i = 0; i < records.size(); i++) {
+                    queueSaved(entryIds[i], resolvedEntries[i], records.get(i).getCourses());
+                }
+
+            } catch (SQLException e) {
+                conn.rollbackQuietly();
+                throw e;
+            }
         }
+        fireChanges();
+        return entryIds;
     }
 
-    public List<GPAEntry> getAllGpaEntries() throws SQLException {
+    private void queueSaved(int entryId, GPAEntry entry, List<Course> courses) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        GPARecord record = new GPARecord(new GPAEntry(entryId, entry.getStudentId(), entry.getStudentName(), entry.getStudentRoll(),
+                entry.getGpaValue(), entry.getTotalCredits(), entry.getCalculatedAt(), entry.getGradingScale()), courses);
+        queueChange(listener -> listener.entrySaved(record));
+    }
+
+    private int insertGpaEntry(ConnectionPool.PooledConnection conn, GPAEntry entry, List<Course> courses) throws SQLException {
+        int newEntryId;
+
+        PreparedStatement entryStmt = conn.prepareReturningKeys(INSERT_ENTRY_SQL);
+        entryStmt.setInt(1, entry.getStudentId());
+        entryStmt.setDouble(2, entry.getGpaValue());
+        entryStmt.setDouble(3, entry.getTotalCredits());
+        entryStmt.setLong(4, entry.getCalculatedAt());
+        entryStmt.setString(5, entry.getGradingScale());
+        entryStmt.executeUpdate();
+
+        try (ResultSet rs = entryStmt.getGeneratedKeys()) {
+            if (rs.next()) {
+                newEntryId = rs.getInt(1);
+            } else {
+                throw new SQLException("Creating GPA entry failed, no ID obtained.");
+            }
+        }
+
+
+        PreparedStatement courseStmt = conn.prepare(INSERT_COURSE_SQL);
+        PreparedStatement courseStatsStmt = conn.prepare(ADD_TO_COURSE_STATS_SQL);
+        PreparedStatement gradeCountStmt = conn.prepare(ADD_TO_GRADE_COUNT_SQL);
+        for (Course course : courses) {
+            String courseKey = course.getCourseKey();
+            courseStmt.setInt(1, newEntryId);
+            courseStmt.setString(2, course.getCourseName());
+            courseStmt.setString(3, course.getCourseCode());
+            courseStmt.setString(4, courseKey);
+            courseStmt.setDouble(5, course.getCredit());
+            courseStmt.setString(6, course.getTeacher1());
+            courseStmt.setString(7, course.getTeacher2());
+            courseStmt.setString(8, course.getGradeLetter());
+            courseStmt.setDouble(9, course.getGradePoint());
+            courseStmt.addBatch();
+
+            courseStatsStmt.setString(1, courseKey);
+            courseStatsStmt.setDouble(2, course.getCredit());
+            courseStatsStmt.setDouble(3, course.getGradePoint());
+            courseStatsStmt.setInt(4, course.getGradePoint() > 0.0 ? 1 : 0);
+            courseStatsStmt.addBatch();
+
+            gradeCountStmt.setString(1, courseKey);
+            gradeCountStmt.setString(2, course.getGradeLetter());
+            gradeCountStmt.addBatch();
+        }
+        courseStmt.executeBatch();
+        courseStatsStmt.executeBatch();
+        gradeCountStmt.executeBatch();
+
+        PreparedStatement aggregateStmt = conn.prepare(ADD_TO_AGGREGATE_SQL);
+        aggregateStmt.setInt(1, entry.getStudentId());
+        aggregateStmt.setDouble(2, entry.getGpaValue() * entry.getTotalCredits());
+        aggregateStmt.setDouble(3, entry.getTotalCredits());
+        aggregateStmt.executeUpdate();
+
+        return newEntryId;
+    }
 
-        String sql = "SELECT e.entry_id, e.student_id, s.first_name, s.last_name, e.gpa_value, e.total_credits, e.date_calculated " +
-                "FROM GPAEntries e JOIN Students s ON e.student_id = s.student_id " +
-                "ORDER BY e.date_calculated DESC";
+    public List<GPAEntry> getAllGpaEntries() throws SQLException {
+        return metrics.time("getAllGpaEntries", this::doGetAllGpaEntries);
+    }
 
+    private List<GPAEntry> doGetAllGpaEntries() throws SQLException {
         List<GPAEntry> entries = new ArrayList<>();
 
-        try (Connection conn = connect();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+        try (ConnectionPool.PooledConnection conn = pool.acquireReader();
+             ResultSet rs = conn.prepare(SELECT_ALL_ENTRIES_SQL).executeQuery()) {
 
             while (rs.next()) {
-                int entryId = rs.getInt("entry_id");
-                int studentId = rs.getInt("student_id");
-                String studentName = rs.getString("first_name");
-                String studentRoll = rs.getString("last_name");
-                double gpaValue = rs.getDouble("gpa_value");
-                double totalCredits = rs.getDouble("total_credits");
-                LocalDateTime date = LocalDateTime.parse(rs.getString("date_calculated"));
+                entries.add(readEntry(rs));
+            }
+        }
+        return entries;
+    }
+
+    private static GPAEntry readEntry(ResultSet rs) throws SQLException {
+        int entryId = rs.getInt("entry_id");
+        int studentId = rs.getInt("student_id");
+        String studentName = rs.getString("first_name");
+        String studentRoll = rs.getString("last_name");
+        double gpaValue = rs.getDouble("gpa_value");
+        double totalCredits = rs.getDouble("total_credits");
+        long calculatedAt = rs.getLong("calculated_at");
+        String gradingScale = rs.getString("grading_scale");
+
+        return new GPAEntry(entryId, studentId, studentName, studentRoll, gpaValue, totalCredits, calculatedAt, gradingScale);
+    }
+
+
+    /**
+     * Entries calculated in {@code [from, to)}, newest first. A null bound leaves that end of the range
+     * open. A range scan on the calculated_at index.
+     */
+    public List<GPAEntry> getEntriesBetween(LocalDateTime from, LocalDateTime to) throws SQLException {
+        return metrics.time("getEntriesBetween", () -> doGetEntriesBetween(from, to));
+    }
+
+    private List<GPAEntry> doGetEntriesBetween(LocalDateTime from, LocalDateTime to) throws SQLException {
+        List<GPAEntry> entries = new ArrayList<>();
+
+        try (ConnectionPool.PooledConnection conn = pool.acquireReader()) {
+            PreparedStatement pstmt = conn.prepare(SELECT_ENTRIES_BETWEEN_SQL);
+            pstmt.setLong(1, fromMillis(from));
+            pstmt.setLong(2, toMillis(to));
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    entries.add(readEntry(rs));
+                }
+            }
+        }
+        return entries;
+    }
+
+
+    /** One student's entries calculated in {@code [from, to)}, newest first; null bounds are open as in {@link #getEntriesBetween}. */
+    public List<GPAEntry> getEntriesForStudentBetween(int studentId, LocalDateTime from, LocalDateTime to) throws SQLException {
+        return metrics.time("getEntriesForStudentBetween", () -> doGetEntriesForStudentBetween(studentId, from, to));
+    }
+
+    private List<GPAEntry> doGetEntriesForStudentBetween(int studentId, LocalDateTime from, LocalDateTime to) throws SQLException {
+        List<GPAEntry> entries = new ArrayList<>();
 
-                entries.add(new GPAEntry(entryId, studentId, studentName, studentRoll, gpaValue, totalCredits, date));
+        try (ConnectionPool.PooledConnection conn = pool.acquireReader()) {
+            PreparedStatement pstmt = conn.prepare(SELECT_STUDENT_ENTRIES_BETWEEN_SQL);
+            pstmt.setInt(1, studentId);
+            pstmt.setLong(2, fromMillis(from));
+            pstmt.setLong(3, toMillis(to));
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    entries.add(readEntry(rs));
+                }
             }
         }
         return entries;
     }
 
+    // Date ranges are half-open, [from, to); a null bound is unbounded on that side.
+    private static long fromMillis(LocalDateTime from) {
+        return from == null ? Long.MIN_VALUE : GPAEntry.toEpochMillis(from);
+    }
+
+    private static long toMillis(LocalDateTime to) {
+        return to == null ? Long.MAX_VALUE : GPAEntry.toEpochMillis(to);
+    }
+
+
+    /**
+     * Streams matching entries in the order they were saved, reading them a page at a time as the
+     * stream is consumed, so memory use does not grow with the table. Each page is read on its own
+     * short reader lease, so writes can commit between pages and an open stream never blocks them;
+     * the stream is therefore not one snapshot, and entries committed while it runs may or may not
+     * appear. Closing it is harmless but not required.
+     */
+    public Stream<GPAEntry> streamGpaEntries(GPAEntryFilter filter) throws SQLException {
+        return metrics.time("streamGpaEntries", () -> doStreamGpaEntries(filter));
+    }
+
+    private Stream<GPAEntry> doStreamGpaEntries(GPAEntryFilter filter) throws SQLException {
+        EntryCursor cursor = new EntryCursor(filter);
+        // Read the first page now, so a failing query throws here rather than from the stream.
+        cursor.readPage();
+        return StreamSupport.stream(cursor, false);
+    }
+
+
+    /** Visits matching entries one at a time; the cursor is closed when this returns or throws. */
+    public void forEachGpaEntry(GPAEntryFilter filter, Consumer<? super GPAEntry> visitor) throws SQLException {
+        metrics.run("forEachGpaEntry", () -> doForEachGpaEntry(filter, visitor));
+    }
+
+    private void doForEachGpaEntry(GPAEntryFilter filter, Consumer<? super GPAEntry> visitor) throws SQLException {
+        try (Stream<GPAEntry> entries = streamGpaEntries(filter)) {
+            entries.forEach(visitor);
+        } catch (IllegalStateException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+
+    /**
+     * Visits every entry together with its courses, in save order. Meant for loading in-memory
+     * copies of the table. Entries are read a page at a time with the reader released between
+     * pages, and the visitor runs outside the lease. So a long pass never blocks writers, but it is
+     * not one snapshot: callers that need one must also apply the changes committed during the pass.
+     */
+    public void forEachGpaRecord(Consumer<? super GPARecord> visitor) throws SQLException {
+        metrics.run("forEachGpaRecord", () -> doForEachGpaRecord(visitor));
+    }
+
+    private void doForEachGpaRecord(Consumer<? super GPARecord> visitor) throws SQLException {
+        int afterEntryId = 0;
+        while (true) {
+            List<GPARecord> page = readRecordPage(afterEntryId);
+            page.forEach(visitor);
+            if (page.size() < STREAM_PAGE_SIZE) {
+                return;
+            }
+            afterEntryId = page.get(page.size() - 1).getEntry().getEntryId();
+        }
+    }
+
+    private List<GPARecord> readRecordPage(int afterEntryId) throws SQLException {
+        List<GPARecord> page = new ArrayList<>();
+
+        try (ConnectionPool.PooledConnection conn = pool.acquireReader()) {
+            PreparedStatement pstmt = conn.prepare(SELECT_RECORDS_PAGE_SQL);
+            pstmt.setFetchSize(STREAM_FETCH_SIZE);
+            pstmt.setInt(1, afterEntryId);
+            pstmt.setInt(2, afterEntryId);
+            pstmt.setInt(3, STREAM_PAGE_SIZE - 1);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                GPAEntry entry = null;
+                List<Course> courses = new ArrayList<>();
+                while (rs.next()) {
+                    if (entry == null || entry.getEntryId() != rs.getInt("entry_id")) {
+                        if (entry != null) {
+                            page.add(new GPARecord(entry, courses));
+                            courses = new ArrayList<>();
+                        }
+                        entry = readEntry(rs);
+                    }
+                    // An entry without courses comes back as one row of NULL course columns.
+                    String name = rs.getString("course_name");
+                    if (name != null) {
+                        courses.add(new Course(name, rs.getString("course_code"), rs.getDouble("credit"),
+                                rs.getString("teacher1"), rs.getString("teacher2"),
+                                rs.getString("grade_letter"), rs.getDouble("grade_point")));
+                    }
+                }
+                if (entry != null) {
+                    page.add(new GPARecord(entry, courses));
+                }
+            }
+        }
+        return page;
+    }
+
+
+    private final class EntryCursor extends Spliterators.AbstractSpliterator<GPAEntry> {
+
+        private final GPAEntryFilter filter;
+        private List<GPAEntry> page = List.of();
+        private int next;
+        private boolean lastPage;
+
+        EntryCursor(GPAEntryFilter filter) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.filter = filter;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super GPAEntry> action) {
+            if (next == page.size()) {
+                if (lastPage) {
+                    return false;
+                }
+                try {
+                    readPage();
+                } catch (SQLException e) {
+                    lastPage = true;
+                    throw new IllegalStateException("Reading GPA entries failed: " + e.getMessage(), e);
+                }
+                if (page.isEmpty()) {
+                    return false;
+                }
+            }
+            action.accept(page.get(next++));
+            return true;
+        }
+
+        void readPage() throws SQLException {
+            int afterEntryId = page.isEmpty() ? 0 : page.get(page.size() - 1).getEntryId();
+            List<GPAEntry> rows = new ArrayList<>();
+
+            try (ConnectionPool.PooledConnection conn = pool.acquireReader()) {
+                PreparedStatement pstmt = conn.prepare(filter.toSql());
+                pstmt.setFetchSize(STREAM_FETCH_SIZE);
+                filter.bind(pstmt, afterEntryId, STREAM_PAGE_SIZE);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        rows.add(readEntry(rs));
+                    }
+                }
+            }
+            page = rows;
+            next = 0;
+            lastPage = rows.size() < STREAM_PAGE_SIZE;
+        }
+    }
+
 
     public List<GPAEntry> getEntriesForStudent(int studentId) throws SQLException {
-        String sql = "SELECT e.entry_id, e.gpa_value, e.total_credits, e.date_calculated, s.first_name, s.last_name " +
-                "FROM GPAEntries e JOIN Students s ON e.student_id = s.student_id " +
-                "WHERE e.student_id = ? ORDER BY e.date_calculated DESC";
+        return metrics.time("getEntriesForStudent", () -> doGetEntriesForStudent(studentId));
+    }
 
+    private List<GPAEntry> doGetEntriesForStudent(int studentId) throws SQLException {
         List<GPAEntry> entries = new ArrayList<>();
 
-        try (Connection conn = connect();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (ConnectionPool.PooledConnection conn = pool.acquireReader()) {
 
+            PreparedStatement pstmt = conn.prepare(SELECT_ENTRIES_FOR_STUDENT_SQL);
             pstmt.setInt(1, studentId);
-            ResultSet rs = pstmt.executeQuery();
 
-            String firstName = null;
-            String lastName = null;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                String firstName = null;
+                String lastName = null;
 
-            while (rs.next()) {
-                if (firstName == null) {
-                    firstName = rs.getString("first_name");
-                    lastName = rs.getString("last_name");
-                }
+                while (rs.next()) {
+                    if (firstName == null) {
+                        firstName = rs.getString("first_name");
+                        lastName = rs.getString("last_name");
+                    }
 
-                int entryId = rs.getInt("entry_id");
-                double gpaValue = rs.getDouble("gpa_value");
-                double totalCredits = rs.getDouble("total_credits");
-                LocalDateTime date = LocalDateTime.parse(rs.getString("date_calculated"));
+                    int entryId = rs.getInt("entry_id");
+                    double gpaValue = rs.getDouble("gpa_value");
+                    double totalCredits = rs.getDouble("total_credits");
+                    long calculatedAt = rs.getLong("calculated_at");
+                    String gradingScale = rs.getString("grading_scale");
 
-                entries.add(new GPAEntry(entryId, studentId, firstName, lastName, gpaValue, totalCredits, date));
+                    entries.add(new GPAEntry(entryId, studentId, firstName, lastName, gpaValue, totalCredits, calculatedAt, gradingScale));
+                }
             }
         }
         return entries;
     }
 
     public List<Course> getCoursesForEntry(int entryId) throws SQLException {
-        String sql = "SELECT course_name, course_code, credit, teacher1, teacher2, grade_letter, grade_point " +
-                "FROM Courses WHERE entry_id = ?";
+        return metrics.time("getCoursesForEntry", () -> doGetCoursesForEntry(entryId));
+    }
 
+    private List<Course> doGetCoursesForEntry(int entryId) throws SQLException {
         List<Course> courses = new ArrayList<>();
 
-        try (Connection conn = connect();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (ConnectionPool.PooledConnection conn = pool.acquireReader()) {
 
+            PreparedStatement pstmt = conn.prepare(SELECT_COURSES_FOR_ENTRY_SQL);
             pstmt.setInt(1, entryId);
-            ResultSet rs = pstmt.executeQuery();
 
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String name = rs.getString("course_name");
+                    String code = rs.getString("course_code");
+                    double credit = rs.getDouble("credit");
+                    String t1 = rs.getString("teacher1");
+                    String t2 = rs.getString("teacher2");
+                    String gradeLetter = rs.getString("grade_letter");
+                    double gradePoint = rs.getDouble("grade_point");
+
+                    courses.add(new Course(name, code, credit, t1, t2, gradeLetter, gradePoint));
+                }
+            }
+        }
+        return courses;
+    }
+
+
+    public GPARecord getLatestEntryWithCourses(int studentId) throws SQLException {
+        return metrics.time("getLatestEntryWithCourses", () -> doGetLatestEntryWithCourses(studentId));
+    }
+
+    private GPARecord doGetLatestEntryWithCourses(int studentId) throws SQLException {
+        GPAEntry entry = null;
+        List<Course> courses = new ArrayList<>();
+
+        try (ConnectionPool.PooledConnection conn = pool.acquireReader()) {
+
+            PreparedStatement pstmt = conn.prepare(SELECT_LATEST_ENTRY_WITH_COURSES_SQL);
+            pstmt.setInt(1, studentId);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    if (entry == null) {
+                        entry = new GPAEntry(
+                                rs.getInt("entry_id"),
+                                studentId,
+                                rs.getString("first_name"),
+                                rs.getString("last_name"),
+                                rs.getDouble("gpa_value"),
+                                rs.getDouble("total_credits"),
+                                rs.getLong("calculated_at"),
+                                rs.getString("grading_scale"));
+                    }
+
+                    // LEFT JOIN: an entry saved without courses comes back as a single row of NULL course columns.
+                    String name = rs.getString("course_name");
+                    if (name == null) {
+                        continue;
+                    }
+                    courses.add(new Course(name, rs.getString("course_code"), rs.getDouble("credit"),
+                            rs.getString("teacher1"), rs.getString("teacher2"),
+                            rs.getString("grade_letter"), rs.getDouble("grade_point")));
+                }
+            }
+        }
+        return entry == null ? null : new GPARecord(entry, courses);
+    }
+
+    /** Returns false if there was no entry {@code entryId}. */
+    public boolean deleteGpaEntry(int entryId) throws SQLException {
+        return metrics.time("deleteGpaEntry", () -> doDeleteGpaEntry(entryId));
+    }
+
+    private boolean doDeleteGpaEntry(int entryId) throws SQLException {
+        boolean deleted;
+        try (ConnectionPool.PooledConnection conn = pool.acquireWriter()) {
+            conn.beginTransaction();
+
+            try {
+                deleted = deleteGpaEntry(conn, entryId);
+                conn.commit();
+                if (deleted) {
+                    queueChange(listener -> listener.entryDeleted(entryId));
+                }
+
+            } catch (SQLException e) {
+                conn.rollbackQuietly();
+                throw e;
+            }
+        }
+        fireChanges();
+        return deleted;
+    }
+
+    // Must run inside a transaction so the student's and courses' running totals change together with the entry.
+    private boolean deleteGpaEntry(ConnectionPool.PooledConnection conn, int entryId) throws SQLException {
+        // The courses go with the entry by cascade, so take them out of the course totals first.
+        subtractCourseStats(conn, entryId);
+
+        PreparedStatement pstmt = conn.prepare(DELETE_ENTRY_SQL);
+        pstmt.setInt(1, entryId);
+
+        int studentId;
+        double gpaValue;
+        double totalCredits;
+        try (ResultSet rs = pstmt.executeQuery()) {
+            if (!rs.next()) {
+                return false;
+            }
+            studentId = rs.getInt("student_id");
+            gpaValue = rs.getDouble("gpa_value");
+            totalCredits = rs.getDouble("total_credits");
+        }
+
+        PreparedStatement aggregateStmt = conn.prepare(SUBTRACT_FROM_AGGREGATE_SQL);
+        aggregateStmt.setDouble(1, gpaValue * totalCredits);
+        aggregateStmt.setDouble(2, totalCredits);
+        aggregateStmt.setInt(3, studentId);
+        aggregateStmt.executeUpdate();
+        return true;
+    }
+
+    private void subtractCourseStats(ConnectionPool.PooledConnection conn, int entryId) throws SQLException {
+        PreparedStatement selectStmt = conn.prepare(SELECT_ENTRY_COURSE_KEYS_SQL);
+        selectStmt.setInt(1, entryId);
+
+        PreparedStatement courseStatsStmt = conn.prepare(SUBTRACT_FROM_COURSE_STATS_SQL);
+        PreparedStatement gradeCountStmt = conn.prepare(SUBTRACT_FROM_GRADE_COUNT_SQL);
+        try (ResultSet rs = selectStmt.executeQuery()) {
             while (rs.next()) {
-                String name = rs.getString("course_name");
-                String code = rs.getString("course_code");
-                double credit = rs.getDouble("credit");
-                String t1 = rs.getString("teacher1");
-                String t2 = rs.getString("teacher2");
-                String gradeLetter = rs.getString("grade_letter");
+                String courseKey = rs.getString("course_key");
                 double gradePoint = rs.getDouble("grade_point");
 
-                courses.add(new Course(name, code, credit, t1, t2, gradeLetter, gradePoint));
+                courseStatsStmt.setDouble(1, rs.getDouble("credit"));
+                courseStatsStmt.setDouble(2, gradePoint);
+                courseStatsStmt.setInt(3, gradePoint > 0.0 ? 1 : 0);
+                courseStatsStmt.setString(4, courseKey);
+                courseStatsStmt.addBatch();
+
+                gradeCountStmt.setString(1, courseKey);
+                gradeCountStmt.setString(2, rs.getString("grade_letter"));
+                gradeCountStmt.addBatch();
             }
         }
-        return courses;
+        courseStatsStmt.executeBatch();
+        gradeCountStmt.executeBatch();
     }
 
-    public void deleteGpaEntry(int entryId) throws SQLException {
 
-        String sql = "DELETE FROM GPAEntries WHERE entry_id = ?";
-        try (Connection conn = connect(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, entryId);
+    /** Returns false if the student has no entries. */
+    public boolean deleteLatestGpaEntryByStudentId(int studentId) throws SQLException {
+        return metrics.time("deleteLatestGpaEntryByStudentId", () -> doDeleteLatestGpaEntryByStudentId(studentId));
+    }
+
+    private boolean doDeleteLatestGpaEntryByStudentId(int studentId) throws SQLException {
+        try (ConnectionPool.PooledConnection conn = pool.acquireWriter()) {
+            conn.beginTransaction();
+
+            try {
+                PreparedStatement selectStmt = conn.prepare(SELECT_LATEST_ENTRY_ID_SQL);
+                selectStmt.setInt(1, studentId);
+
+                int latestEntryId;
+                try (ResultSet rs = selectStmt.executeQuery()) {
+                    if (!rs.next()) {
+                        conn.commit();
+                        return false;
+                    }
+                    latestEntryId = rs.getInt("entry_id");
+                }
+
+                // The writer is already leased here, so delete on the same connection instead of re-entering the pool.
+                deleteGpaEntry(conn, latestEntryId);
+                conn.commit();
+                queueChange(listener -> listener.entryDeleted(latestEntryId));
+
+            } catch (SQLException e) {
+                conn.rollbackQuietly();
+                throw e;
+            }
+        }
+        fireChanges();
+        return true;
+    }
+
+
+    public int countGpaEntriesAfter(int afterEntryId) throws SQLException {
+        return metrics.time("countGpaEntriesAfter", () -> doCountGpaEntriesAfter(afterEntryId));
+    }
+
+    private int doCountGpaEntriesAfter(int afterEntryId) throws SQLException {
+        try (ConnectionPool.PooledConnection conn = pool.acquireReader()) {
+            PreparedStatement pstmt = conn.prepare(COUNT_ENTRIES_AFTER_SQL);
+            pstmt.setInt(1, afterEntryId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+
+    /**
+     * Loads the courses of the next {@code entryLimit} entries after {@code afterEntryId} into
+     * {@code columns}, ordered by entry_id, and returns the last entry_id the block covers. Returns
+     * {@code afterEntryId} itself when there is nothing left.
+     */
+    public int loadCourseColumns(int afterEntryId, int entryLimit, CourseColumns columns) throws SQLException {
+        return metrics.time("loadCourseColumns", () -> doLoadCourseColumns(afterEntryId, entryLimit, columns));
+    }
+
+    private int doLoadCourseColumns(int afterEntryId, int entryLimit, CourseColumns columns) throws SQLException {
+        columns.clear();
+
+        try (ConnectionPool.PooledConnection conn = pool.acquireReader()) {
+
+            PreparedStatement endStmt = conn.prepare(SELECT_CHUNK_END_SQL);
+            endStmt.setInt(1, afterEntryId);
+            endStmt.setInt(2, entryLimit - 1);
+            int chunkEnd;
+            try (ResultSet rs = endStmt.executeQuery()) {
+                chunkEnd = rs.next() ? rs.getInt(1) : 0;
+            }
+            if (chunkEnd <= afterEntryId) {
+                return afterEntryId;
+            }
+
+            PreparedStatement countStmt = conn.prepare(COUNT_ENTRIES_BETWEEN_IDS_SQL);
+            countStmt.setInt(1, afterEntryId);
+            countStmt.setInt(2, chunkEnd);
+            try (ResultSet rs = countStmt.executeQuery()) {
+                columns.setBlockEntryCount(rs.next() ? rs.getInt(1) : 0);
+            }
+
+            PreparedStatement pstmt = conn.prepare(SELECT_COURSE_COLUMNS_SQL);
+            pstmt.setInt(1, afterEntryId);
+            pstmt.setInt(2, chunkEnd);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    columns.add(rs.getLong(1), rs.getInt(2), rs.getDouble(3), rs.getString(4), rs.getDouble(5), rs.getString(6));
+                }
+            }
+            return chunkEnd;
+        }
+    }
+
+
+    /**
+     * Writes recomputed grade points and entry totals from {@code columns} and advances the job's
+     * checkpoint to {@code chunkEnd}, all in one transaction, so an interrupted job resumes exactly
+     * after the last block that was committed.
+     */
+    public void applyRecomputedColumns(String jobName, CourseColumns columns, double[] newGradePoints, int chunkEnd) throws SQLException {
+        metrics.run("applyRecomputedColumns", () -> doApplyRecomputedColumns(jobName, columns, newGradePoints, chunkEnd));
+    }
+
+    private void doApplyRecomputedColumns(String jobName, CourseColumns columns, double[] newGradePoints, int chunkEnd) throws SQLException {
+        try (ConnectionPool.PooledConnection conn = pool.acquireWriter()) {
+            conn.beginTransaction();
+
+            try {
+                PreparedStatement courseStmt = conn.prepare(UPDATE_COURSE_POINT_SQL);
+                PreparedStatement courseStatsStmt = conn.prepare(ADJUST_COURSE_STATS_POINTS_SQL);
+                double[] oldGradePoints = columns.getGradePoints();
+                long[] courseIds = columns.getCourseIds();
+                for (int i = 0; i < columns.size(); i++) {
+                    if (newGradePoints[i] != oldGradePoints[i]) {
+                        courseStmt.setDouble(1, newGradePoints[i]);
+                        courseStmt.setLong(2, courseIds[i]);
+                        courseStmt.addBatch();
+
+                        courseStatsStmt.setDouble(1, newGradePoints[i] - oldGradePoints[i]);
+                        courseStatsStmt.setInt(2, (newGradePoints[i] > 0.0 ? 1 : 0) - (oldGradePoints[i] > 0.0 ? 1 : 0));
+                        courseStatsStmt.setLong(3, courseIds[i]);
+                        courseStatsStmt.addBatch();
+                    }
+                }
+                courseStmt.executeBatch();
+                courseStatsStmt.executeBatch();
+
+                PreparedStatement entryStmt = conn.prepare(UPDATE_ENTRY_TOTALS_SQL);
+                for (int i = 0; i < columns.getEntryCount(); i++) {
+                    entryStmt.setDouble(1, columns.getEntryGpa()[i]);
+                    entryStmt.setDouble(2, columns.getEntryCredits()[i]);
+                    entryStmt.setInt(3, columns.getDistinctEntryIds()[i]);
+                    entryStmt.addBatch();
+                }
+                entryStmt.executeBatch();
+
+                if (columns.getEntryCount() > 0) {
+                    PreparedStatement aggregateStmt = conn.prepare(REFRESH_AGGREGATES_FOR_ENTRIES_SQL);
+                    aggregateStmt.setInt(1, columns.getDistinctEntryIds()[0]);
+                    aggregateStmt.setInt(2, chunkEnd);
+                    aggregateStmt.executeUpdate();
+                }
+
+                PreparedStatement checkpointStmt = conn.prepare(UPSERT_CHECKPOINT_SQL);
+                checkpointStmt.setString(1, jobName);
+                checkpointStmt.setInt(2, chunkEnd);
+                checkpointStmt.setString(3, LocalDateTime.now().toString());
+                checkpointStmt.executeUpdate();
+
+                conn.commit();
+                if (columns.getEntryCount() > 0) {
+                    int fromEntryId = columns.getDistinctEntryIds()[0];
+                    queueChange(listener -> listener.entriesRecomputed(fromEntryId, chunkEnd));
+                }
+
+            } catch (SQLException e) {
+                conn.rollbackQuietly();
+                throw e;
+            }
+        }
+        fireChanges();
+    }
+
+
+    public int loadJobCheckpoint(String jobName) throws SQLException {
+        return metrics.time("loadJobCheckpoint", () -> doLoadJobCheckpoint(jobName));
+    }
+
+    private int doLoadJobCheckpoint(String jobName) throws SQLException {
+        try (ConnectionPool.PooledConnection conn = pool.acquireReader()) {
+            PreparedStatement pstmt = conn.prepare(SELECT_CHECKPOINT_SQL);
+            pstmt.setString(1, jobName);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    public void clearJobCheckpoint(String jobName) throws SQLException {
+        metrics.run("clearJobCheckpoint", () -> doClearJobCheckpoint(jobName));
+    }
+
+    private void doClearJobCheckpoint(String jobName) throws SQLException {
+        try (ConnectionPool.PooledConnection conn = pool.acquireWriter()) {
+            PreparedStatement pstmt = conn.prepare(DELETE_CHECKPOINT_SQL);
+            pstmt.setString(1, jobName);
             pstmt.executeUpdate();
         }
     }
 
 
-    public void deleteLatestGpaEntryByStudentId(int studentId) throws SQLException {
+    public StudentAggregate getStudentAggregate(int studentId) throws SQLException {
+        return metrics.time("getStudentAggregate", () -> doGetStudentAggregate(studentId));
+    }
 
-        String selectSql = "SELECT entry_id FROM GPAEntries WHERE student_id = ? ORDER BY date_calculated DESC LIMIT 1";
+    private StudentAggregate doGetStudentAggregate(int studentId) throws SQLException {
+        try (ConnectionPool.PooledConnection conn = pool.acquireReader()) {
+            PreparedStatement pstmt = conn.prepare(SELECT_AGGREGATE_SQL);
+            pstmt.setInt(1, studentId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    return new StudentAggregate(studentId, 0.0, 0.0, 0);
+                }
+                return new StudentAggregate(studentId, rs.getDouble("weighted_points"), rs.getDouble("total_credits"), rs.getInt("entry_count"));
+            }
+        }
+    }
 
-        try (Connection conn = connect();
-             PreparedStatement selectStmt = conn.prepareStatement(selectSql)) {
 
-            selectStmt.setInt(1, studentId);
-            ResultSet rs = selectStmt.executeQuery();
+    /**
+     * Compares every student's running totals with totals recomputed from GPAEntries and returns the
+     * ids of students whose stored aggregate is missing, stale or has drifted beyond rounding error.
+     */
+    public List<Integer> findInconsistentAggregates() throws SQLException {
+        return metrics.time("findInconsistentAggregates", this::doFindInconsistentAggregates);
+    }
 
-            if (rs.next()) {
-                int latestEntryId = rs.getInt("entry_id");
+    private List<Integer> doFindInconsistentAggregates() throws SQLException {
+        List<Integer> inconsistent = new ArrayList<>();
 
-                deleteGpaEntry(latestEntryId);
+        try (ConnectionPool.PooledConnection conn = pool.acquireReader();
+             ResultSet rs = conn.prepare(COMPARE_AGGREGATES_SQL).executeQuery()) {
 
-                System.out.println("Deleted GPA entry ID: " + latestEntryId + " for student ID: " + studentId);
-            } else {
-                System.out.println("No existing GPA entry found for student ID: " + studentId + " to delete.");
+            while (rs.next()) {
+                // Absent rows read as 0, which is also what a student without entries should have.
+                boolean consistent = rs.getInt(4) == rs.getInt(7)
+                        && nearlyEqual(rs.getDouble(2), rs.getDouble(5))
+                        && nearlyEqual(rs.getDouble(3), rs.getDouble(6));
+                if (!consistent) {
+                    inconsistent.add(rs.getInt(1));
+                }
+            }
+        }
+        return inconsistent;
+    }
+
+    private static boolean nearlyEqual(double a, double b) {
+        return Math.abs(a - b) <= 1e-9 * Math.max(1.0, Math.max(Math.abs(a), Math.abs(b)));
+    }
+
+
+    public void rebuildStudentAggregates() throws SQLException {
+        metrics.run("rebuildStudentAggregates", this::doRebuildStudentAggregates);
+    }
+
+    private void doRebuildStudentAggregates() throws SQLException {
+        try (ConnectionPool.PooledConnection conn = pool.acquireWriter()) {
+            conn.beginTransaction();
+
+            try {
+                conn.prepare(DELETE_ALL_AGGREGATES_SQL).executeUpdate();
+                conn.prepare(REBUILD_AGGREGATES_SQL).executeUpdate();
+                conn.commit();
+
+            } catch (SQLException e) {
+                conn.rollbackQuietly();
+                throw e;
+            }
+        }
+    }
+
+
+    /** Totals and grade counts of one course, or null if it was never taken. Two primary-key lookups. */
+    public CourseStats getCourseStats(String courseCode) throws SQLException {
+        return metrics.time("getCourseStats", () -> doGetCourseStats(courseCode));
+    }
+
+    private CourseStats doGetCourseStats(String courseCode) throws SQLException {
+        String courseKey = Course.toCourseKey(courseCode);
+
+        try (ConnectionPool.PooledConnection conn = pool.acquireReader()) {
+            PreparedStatement statsStmt = conn.prepare(SELECT_COURSE_STATS_SQL);
+            statsStmt.setString(1, courseKey);
+
+            int enrollment;
+            double totalCredits;
+            double gradePointSum;
+            int passed;
+            try (ResultSet rs = statsStmt.executeQuery()) {
+                if (!rs.next() || rs.getInt("enrollment") == 0) {
+                    return null;
+                }
+                enrollment = rs.getInt("enrollment");
+                totalCredits = rs.getDouble("total_credits");
+                gradePointSum = rs.getDouble("grade_point_sum");
+                passed = rs.getInt("passed");
+            }
+
+            PreparedStatement countsStmt = conn.prepare(SELECT_COURSE_GRADE_COUNTS_SQL);
+            countsStmt.setString(1, courseKey);
+            Map<String, Integer> gradeCounts = new LinkedHashMap<>();
+            try (ResultSet rs = countsStmt.executeQuery()) {
+                while (rs.next()) {
+                    gradeCounts.put(rs.getString("grade_letter"), rs.getInt("enrollment"));
+                }
+            }
+            return new CourseStats(courseKey, enrollment, totalCredits, gradePointSum, passed, gradeCounts);
+        }
+    }
+
+    /** Totals of every course taken at least once, by course key, without grade counts. */
+    public List<CourseStats> getAllCourseStats() throws SQLException {
+        return metrics.time("getAllCourseStats", this::doGetAllCourseStats);
+    }
+
+    private List<CourseStats> doGetAllCourseStats() throws SQLException {
+        List<CourseStats> stats = new ArrayList<>();
+
+        try (ConnectionPool.PooledConnection conn = pool.acquireReader();
+             ResultSet rs = conn.prepare(SELECT_ALL_COURSE_STATS_SQL).executeQuery()) {
+
+            while (rs.next()) {
+                stats.add(new CourseStats(rs.getString("course_key"), rs.getInt("enrollment"), rs.getDouble("total_credits"),
+                        rs.getDouble("grade_point_sum"), rs.getInt("passed"), Map.of()));
+            }
+        }
+        return stats;
+    }
+
+    /** Ids of the entries that include the course, in save order. A range scan on the course_key index. */
+    public List<Integer> getEntryIdsForCourse(String courseCode) throws SQLException {
+        return metrics.time("getEntryIdsForCourse", () -> doGetEntryIdsForCourse(courseCode));
+    }
+
+    private List<Integer> doGetEntryIdsForCourse(String courseCode) throws SQLException {
+        List<Integer> entryIds = new ArrayList<>();
+
+        try (ConnectionPool.PooledConnection conn = pool.acquireReader()) {
+            PreparedStatement pstmt = conn.prepare(SELECT_COURSE_ENTRY_IDS_SQL);
+            pstmt.setString(1, Course.toCourseKey(courseCode));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    entryIds.add(rs.getInt(1));
+                }
+            }
+        }
+        return entryIds;
+    }
+
+
+    public void rebuildCourseStats() throws SQLException {
+        metrics.run("rebuildCourseStats", this::doRebuildCourseStats);
+    }
+
+    private void doRebuildCourseStats() throws SQLException {
+        try (ConnectionPool.PooledConnection conn = pool.acquireWriter()) {
+            conn.beginTransaction();
+
+            try {
+                conn.prepare(DELETE_ALL_COURSE_STATS_SQL).executeUpdate();
+                conn.prepare(DELETE_ALL_GRADE_COUNTS_SQL).executeUpdate();
+                conn.prepare(REBUILD_COURSE_STATS_SQL).executeUpdate();
+                conn.prepare(REBUILD_GRADE_COUNTS_SQL).executeUpdate();
+                conn.commit();
+
+            } catch (SQLException e) {
+                conn.rollbackQuietly();
+                throw e;
             }
         }
     }
-}
\ No newline at end of file
+}
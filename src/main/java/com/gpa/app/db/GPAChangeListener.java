@@ -0,0 +1,27 @@
+package com.gpa.app.db;
+
+import com.gpa.app.model.GPARecord;
+
+
+/**
+ * Told about changes to GPA entries once they have committed, in commit order and one at a time,
+ * before the call that made them returns. Listeners run after the writer is released, possibly on
+ * another writing thread, and still keep that caller waiting, so they should only update in-memory state.
+ */
+public interface GPAChangeListener {
+
+    /** {@code record}'s entry carries its new entry id and resolved student id. */
+    default void entrySaved(GPARecord record) {
+    }
+
+    default void entryDeleted(int entryId) {
+    }
+
+    /** The student and, by cascade, all of their entries and courses are gone. */
+    default void studentDeleted(int studentId) {
+    }
+
+    /** Grade points and totals of entries with ids in {@code [fromEntryId, toEntryId]} were rewritten in bulk. */
+    default void entriesRecomputed(int fromEntryId, int toEntryId) {
+    }
+}
@@ -0,0 +1,93 @@
+package com.gpa.app.db;
+
+import com.gpa.app.model.GPAEntry;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Conditions for {@link DatabaseService#streamGpaEntries(GPAEntryFilter)}, translated into the
+ * query's WHERE clause so rows that do not match never leave SQLite. Unset conditions match
+ * everything; date ranges are {@code [from, to)} as in {@link DatabaseService#getEntriesBetween},
+ * with a null bound left open. A student filter is served by the student index, with only that
+ * student's rows sorted into save order.
+ */
+public class GPAEntryFilter {
+
+    private Integer studentId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private Double minGpa;
+    private Double maxGpa;
+
+    public static GPAEntryFilter all() {
+        return new GPAEntryFilter();
+    }
+
+    public GPAEntryFilter student(int studentId) {
+        this.studentId = studentId;
+        return this;
+    }
+
+    public GPAEntryFilter calculatedBetween(LocalDateTime from, LocalDateTime to) {
+        this.from = from;
+        this.to = to;
+        return this;
+    }
+
+    public GPAEntryFilter gpaBetween(Double minGpa, Double maxGpa) {
+        this.minGpa = minGpa;
+        this.maxGpa = maxGpa;
+        return this;
+    }
+
+
+    // Keyset-paged: bind() takes the last entry id already read and the page size.
+    String toSql() {
+        List<String> conditions = new ArrayList<>();
+        conditions.add("e.entry_id > ?");
+        if (studentId != null) {
+            conditions.add("e.student_id = ?");
+        }
+        if (from != null) {
+            conditions.add("e.calculated_at >= ?");
+        }
+        if (to != null) {
+            conditions.add("e.calculated_at < ?");
+        }
+        if (minGpa != null) {
+            conditions.add("e.gpa_value >= ?");
+        }
+        if (maxGpa != null) {
+            conditions.add("e.gpa_value <= ?");
+        }
+
+        String where = "WHERE " + String.join(" AND ", conditions) + " ";
+        return DatabaseService.STREAM_ENTRIES_SELECT + where + DatabaseService.STREAM_ENTRIES_ORDER;
+    }
+
+    void bind(PreparedStatement pstmt, int afterEntryId, int limit) throws SQLException {
+        int index = 1;
+        pstmt.setInt(index++, afterEntryId);
+        if (studentId != null) {
+            pstmt.setInt(index++, studentId);
+        }
+        if (from != null) {
+            pstmt.setLong(index++, GPAEntry.toEpochMillis(from));
+        }
+        if (to != null) {
+            pstmt.setLong(index++, GPAEntry.toEpochMillis(to));
+        }
+        if (minGpa != null) {
+            pstmt.setDouble(index++, minGpa);
+        }
+        if (maxGpa != null) {
+            pstmt.setDouble(index++, maxGpa);
+        }
+        pstmt.setInt(index, limit);
+    }
+}
@@ -1,26 +1,34 @@
 package com.gpa.app.db;
 
 import com.gpa.app.model.Course;
+import com.gpa.app.model.CourseStats;
 import com.gpa.app.model.GPAEntry;
+import com.gpa.app.model.GPARecord;
 import com.gpa.app.model.Student;
+import com.gpa.app.model.StudentAggregate;
 
 import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 
 public class GPARepository {
 
-    private static final DatabaseService db = DatabaseService.getInstance();
+    // Resolved per call rather than in a static initializer, so loading this class never opens the database.
+    private static DatabaseService db() {
+        return DatabaseService.getInstance();
+    }
 
 
     public static Student saveOrGetStudent(String firstName, String lastName) throws SQLException {
-        return db.saveOrGetStudent(firstName, lastName);
+        return db().saveOrGetStudent(firstName, lastName);
     }
 
 
     public static int saveFullGpaRecord(GPAEntry entry, List<Course> courses) {
         try {
-            return db.saveGpaEntry(entry, courses);
+            return db().saveGpaEntry(entry, courses);
         } catch (SQLException e) {
             System.err.println("GPARepository: Failed to save full GPA record. Error: " + e.getMessage());
             return -1;
@@ -28,19 +36,34 @@ public class GPARepository {
     }
 
 
+    public static int replaceLatestGpaRecord(GPAEntry entry, List<Course> courses) {
+        try {
+            return db().replaceLatestGpaEntry(entry, courses);
+        } catch (SQLException e) {
+            System.err.println("GPARepository: Failed to replace latest GPA record. Error: " + e.getMessage());
+            return -1;
+        }
+    }
+
+
     public static List<Student> getAllStudents() throws SQLException {
-        return db.getAllStudents();
+        return db().getAllStudents();
+    }
+
+
+    public static List<Student> getStudentPage(String namePrefix, Student after, int limit) throws SQLException {
+        return db().getStudentsPage(namePrefix, after, limit);
     }
 
 
-    public static void deleteLatestGpaEntry(int studentId) throws SQLException {
-        db.deleteLatestGpaEntryByStudentId(studentId);
+    public static boolean deleteLatestGpaEntry(int studentId) throws SQLException {
+        return db().deleteLatestGpaEntryByStudentId(studentId);
     }
 
 
     public static boolean deleteStudent(int studentId) {
         try {
-            return db.deleteStudent(studentId);
+            return db().deleteStudent(studentId);
         } catch (Exception e) {
             System.err.println("GPARepository: Failed to delete student record. Error: " + e.getMessage());
             return false;
@@ -48,28 +71,104 @@ public class GPARepository {
     }
 
 
+    public static GPARecord getLatestGpaRecord(int studentId) throws SQLException {
+        return db().getLatestEntryWithCourses(studentId);
+    }
+
+
     public static List<Course> getLatestGpaEntryWithCourses(int studentId) throws SQLException {
+        GPARecord latest = db().getLatestEntryWithCourses(studentId);
+        return latest == null ? List.of() : latest.getCourses();
+    }
 
-        List<GPAEntry> entries = db.getEntriesForStudent(studentId);
 
-        if (entries.isEmpty()) {
-            return List.of();
+    public static double getLatestGpaValue(int studentId) throws SQLException {
+        GPARecord latest = db().getLatestEntryWithCourses(studentId);
+        if (latest == null) {
+            return 0.0;
         }
+        // Return the GPA value of the latest entry
+        return latest.getEntry().getGpaValue();
+    }
 
 
-        int latestEntryId = entries.get(0).getEntryId();
+    /** Entries calculated at or after {@code from} and before {@code to}, newest first. A null bound is open. */
+    public static List<GPAEntry> getEntriesBetween(LocalDateTime from, LocalDateTime to) throws SQLException {
+        return db().getEntriesBetween(from, to);
+    }
 
 
-        return db.getCoursesForEntry(latestEntryId);
+    public static List<GPAEntry> getEntriesForStudentBetween(int studentId, LocalDateTime from, LocalDateTime to) throws SQLException {
+        return db().getEntriesForStudentBetween(studentId, from, to);
     }
 
 
-    public static double getLatestGpaValue(int studentId) throws SQLException {
-        List<GPAEntry> entries = db.getEntriesForStudent(studentId);
-        if (entries.isEmpty()) {
-            return 0.0;
+    public static List<GPAEntry> getEntriesSince(LocalDateTime from) throws SQLException {
+        return db().getEntriesBetween(from, null);
+    }
+
+
+    /** Close the returned stream (try-with-resources) to hand its database connection back. */
+    public static Stream<GPAEntry> streamGpaEntries(GPAEntryFilter filter) throws SQLException {
+        return db().streamGpaEntries(filter);
+    }
+
+
+    public static StudentAggregate getStudentAggregate(int studentId) throws SQLException {
+        return db().getStudentAggregate(studentId);
+    }
+
+
+    public static double getCumulativeGpa(int studentId) throws SQLException {
+        return db().getStudentAggregate(studentId).getCgpa();
+    }
+
+
+    /** Returns the students whose running totals disagreed with GPAEntries; with {@code repair}, rebuilds all totals. */
+    public static List<Integer> checkStudentAggregates(boolean repair) throws SQLException {
+        List<Integer> inconsistent = db().findInconsistentAggregates();
+        if (repair && !inconsistent.isEmpty()) {
+            db().rebuildStudentAggregates();
         }
-        // Return the GPA value of the latest entry
-        return entries.get(0).getGpaValue();
+        return inconsistent;
+    }
+
+
+    /** Null when no saved entry includes the course. Codes are matched by {@link Course#toCourseKey(String)}. */
+    public static CourseStats getCourseStats(String courseCode) throws SQLException {
+        return db().getCourseStats(courseCode);
+    }
+
+
+    public static double getCourseAverageGradePoint(String courseCode) throws SQLException {
+        CourseStats stats = db().getCourseStats(courseCode);
+        return stats == null ? 0.0 : stats.getAverageGradePoint();
+    }
+
+
+    public static double getCoursePassRate(String courseCode) throws SQLException {
+        CourseStats stats = db().getCourseStats(courseCode);
+        return stats == null ? 0.0 : stats.getPassRate();
+    }
+
+
+    public static int getCourseEnrollment(String courseCode) throws SQLException {
+        CourseStats stats = db().getCourseStats(courseCode);
+        return stats == null ? 0 : stats.getEnrollment();
+    }
+
+
+    public static List<CourseStats> getAllCourseStats() throws SQLException {
+        return db().getAllCourseStats();
+    }
+
+
+    public static List<Integer> getEntryIdsForCourse(String courseCode) throws SQLException {
+        return db().getEntryIdsForCourse(courseCode);
+    }
+
+
+    public static void rebuildCourseStats() throws SQLException {
+        db().rebuildCourseStats();
     }
-}
\ No newline at end of file
+}
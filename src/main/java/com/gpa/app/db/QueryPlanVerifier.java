@@ -0,0 +1,134 @@
+package com.gpa.app.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+
+public class QueryPlanVerifier {
+
+    // Every statement DatabaseService issues. Add new queries here so their plans are checked too.
+    static final List<String> QUERIES = List.of(
+            DatabaseService.SELECT_STUDENT_ID_SQL,
+            DatabaseService.UPSERT_STUDENT_SQL,
+            DatabaseService.SELECT_ALL_STUDENTS_SQL,
+            DatabaseService.SELECT_STUDENTS_PAGE_SQL,
+            DatabaseService.SEARCH_STUDENTS_PAGE_SQL,
+            DatabaseService.SEARCH_STUDENTS_OPEN_PAGE_SQL,
+            DatabaseService.DELETE_STUDENT_SQL,
+            DatabaseService.INSERT_ENTRY_SQL,
+            DatabaseService.INSERT_COURSE_SQL,
+            DatabaseService.SELECT_ALL_ENTRIES_SQL,
+            DatabaseService.SELECT_ENTRIES_FOR_STUDENT_SQL,
+            DatabaseService.SELECT_ENTRIES_BETWEEN_SQL,
+            DatabaseService.SELECT_STUDENT_ENTRIES_BETWEEN_SQL,
+            DatabaseService.SELECT_COURSES_FOR_ENTRY_SQL,
+            DatabaseService.SELECT_LATEST_ENTRY_WITH_COURSES_SQL,
+            DatabaseService.DELETE_ENTRY_SQL,
+            DatabaseService.SELECT_LATEST_ENTRY_ID_SQL,
+            DatabaseService.SELECT_RECORDS_PAGE_SQL,
+            DatabaseService.COUNT_ENTRIES_AFTER_SQL,
+            DatabaseService.COUNT_ENTRIES_BETWEEN_IDS_SQL,
+            DatabaseService.SELECT_CHUNK_END_SQL,
+            DatabaseService.SELECT_COURSE_COLUMNS_SQL,
+            DatabaseService.UPDATE_COURSE_POINT_SQL,
+            DatabaseService.UPDATE_ENTRY_TOTALS_SQL,
+            DatabaseService.SELECT_CHECKPOINT_SQL,
+            DatabaseService.UPSERT_CHECKPOINT_SQL,
+            DatabaseService.DELETE_CHECKPOINT_SQL,
+            DatabaseService.ADD_TO_AGGREGATE_SQL,
+            DatabaseService.SUBTRACT_FROM_AGGREGATE_SQL,
+            DatabaseService.SELECT_AGGREGATE_SQL,
+            DatabaseService.REFRESH_AGGREGATES_FOR_ENTRIES_SQL,
+            DatabaseService.DELETE_ALL_AGGREGATES_SQL,
+            DatabaseService.REBUILD_AGGREGATES_SQL,
+            DatabaseService.COMPARE_AGGREGATES_SQL,
+            DatabaseService.ADD_TO_COURSE_STATS_SQL,
+            DatabaseService.ADD_TO_GRADE_COUNT_SQL,
+            DatabaseService.SELECT_ENTRY_COURSE_KEYS_SQL,
+            DatabaseService.SUBTRACT_FROM_COURSE_STATS_SQL,
+            DatabaseService.SUBTRACT_FROM_GRADE_COUNT_SQL,
+            DatabaseService.ADJUST_COURSE_STATS_POINTS_SQL,
+            DatabaseService.SELECT_STUDENT_ENTRY_IDS_SQL,
+            DatabaseService.SELECT_COURSE_STATS_SQL,
+            DatabaseService.SELECT_COURSE_GRADE_COUNTS_SQL,
+            DatabaseService.SELECT_ALL_COURSE_STATS_SQL,
+            DatabaseService.SELECT_COURSE_ENTRY_IDS_SQL,
+            DatabaseService.DELETE_ALL_COURSE_STATS_SQL,
+            DatabaseService.DELETE_ALL_GRADE_COUNTS_SQL,
+            DatabaseService.REBUILD_COURSE_STATS_SQL,
+            DatabaseService.REBUILD_GRADE_COUNTS_SQL,
+            GPAEntryFilter.all().toSql()
+    );
+
+    // Listings and maintenance statements that read the whole table on purpose.
+    private static final Set<String> FULL_LISTINGS = Set.of(
+            DatabaseService.SELECT_ALL_STUDENTS_SQL,
+            DatabaseService.SELECT_ALL_ENTRIES_SQL,
+            DatabaseService.DELETE_ALL_AGGREGATES_SQL,
+            DatabaseService.REBUILD_AGGREGATES_SQL,
+            DatabaseService.COMPARE_AGGREGATES_SQL,
+            DatabaseService.SELECT_ALL_COURSE_STATS_SQL,
+            DatabaseService.DELETE_ALL_COURSE_STATS_SQL,
+            DatabaseService.DELETE_ALL_GRADE_COUNTS_SQL,
+            DatabaseService.REBUILD_COURSE_STATS_SQL,
+            DatabaseService.REBUILD_GRADE_COUNTS_SQL
+    );
+
+
+    public static List<String> explain(Connection conn, String sql) throws SQLException {
+        List<String> plan = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN QUERY PLAN " + sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                plan.add(rs.getString("detail"));
+            }
+        }
+        return plan;
+    }
+
+
+    public static List<String> findViolations(Connection conn) throws SQLException {
+        List<String> violations = new ArrayList<>();
+
+        for (String sql : QUERIES) {
+            if (FULL_LISTINGS.contains(sql)) {
+                continue;
+            }
+            // Stepping through a LIMITed subquery's own rows is not a table scan; only its inner plan matters.
+            Set<String> subqueries = new HashSet<>();
+            for (String step : explain(conn, sql)) {
+                if (step.startsWith("CO-ROUTINE ") || step.startsWith("MATERIALIZE ")) {
+                    subqueries.add(step.substring(step.indexOf(' ') + 1));
+                } else if (isTableScan(step, subqueries) || step.startsWith("USE TEMP B-TREE")) {
+                    violations.add(step + " <- " + sql);
+                }
+            }
+        }
+        return violations;
+    }
+
+    // "SCAN t USING INDEX" still visits every row, just in index order, so it counts as a scan.
+    // "SCAN CONSTANT ROW" is the single row of a FROM-less SELECT, not a table.
+    private static boolean isTableScan(String step, Set<String> subqueries) {
+        return step.startsWith("SCAN ") && !step.equals("SCAN CONSTANT ROW")
+                && !subqueries.contains(step.substring(5));
+    }
+
+
+    public static void main(String[] args) throws SQLException {
+        List<String> violations = DatabaseService.getInstance().verifyQueryPlans();
+        DatabaseService.shutdown();
+
+        if (!violations.isEmpty()) {
+            violations.forEach(v -> System.err.println("Query plan regression: " + v));
+            throw new IllegalStateException(violations.size() + " query(s) no longer use an index.");
+        }
+        System.out.println("All " + (QUERIES.size() - FULL_LISTINGS.size()) + " indexed queries use an index.");
+    }
+}
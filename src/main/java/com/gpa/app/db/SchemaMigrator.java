@@ -0,0 +1,171 @@
+package com.gpa.app.db;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.List;
+
+
+class SchemaMigrator {
+
+    static final class Migration {
+        final int version;
+        final String description;
+        final String[] statements;
+
+        Migration(int version, String description, String... statements) {
+            this.version = version;
+            this.description = description;
+            this.statements = statements;
+        }
+    }
+
+    // Append only: a migration that has shipped must never be edited, add a new version instead.
+    private static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "Create Students, GPAEntries and Courses",
+                    "CREATE TABLE IF NOT EXISTS Students (" +
+                            "student_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                            "first_name TEXT NOT NULL," +
+                            "last_name TEXT NOT NULL," +
+                            "UNIQUE (first_name, last_name)" +
+                            ")",
+                    "CREATE TABLE IF NOT EXISTS GPAEntries (" +
+                            "entry_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                            "student_id INTEGER NOT NULL," +
+                            "gpa_value REAL NOT NULL," +
+                            "total_credits REAL NOT NULL," +
+                            "date_calculated TEXT NOT NULL," + // Stored as ISO 8601 string
+                            "FOREIGN KEY (student_id) REFERENCES Students(student_id) ON DELETE CASCADE" +
+                            ")",
+                    "CREATE TABLE IF NOT EXISTS Courses (" +
+                            "course_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                            "entry_id INTEGER NOT NULL," +
+                            "course_name TEXT NOT NULL," +
+                            "course_code TEXT," +
+                            "credit REAL NOT NULL," +
+                            "teacher1 TEXT," +
+                            "teacher2 TEXT," +
+                            "grade_letter TEXT NOT NULL," +
+                            "grade_point REAL NOT NULL," +
+                            "FOREIGN KEY (entry_id) REFERENCES GPAEntries(entry_id) ON DELETE CASCADE" +
+                            ")"),
+            new Migration(2, "Index foreign key columns",
+                    "CREATE INDEX IF NOT EXISTS idx_gpaentries_student_id ON GPAEntries (student_id)",
+                    "CREATE INDEX IF NOT EXISTS idx_courses_entry_id ON Courses (entry_id)"),
+            new Migration(3, "Index GPAEntries by student and newest date first",
+                    // Serves both the WHERE and the ORDER BY of the per-student history and latest-entry lookups.
+                    "CREATE INDEX IF NOT EXISTS idx_gpaentries_student_date ON GPAEntries (student_id, date_calculated DESC)",
+                    "DROP INDEX IF EXISTS idx_gpaentries_student_id"),
+            new Migration(4, "Track progress of resumable batch jobs",
+                    "CREATE TABLE IF NOT EXISTS job_checkpoints (" +
+                            "job_name TEXT PRIMARY KEY," +
+                            "last_entry_id INTEGER NOT NULL," +
+                            "updated_at TEXT NOT NULL" +
+                            ")"),
+            new Migration(5, "Record the grading scale of each GPA entry",
+                    "ALTER TABLE GPAEntries ADD COLUMN grading_scale TEXT NOT NULL DEFAULT 'UGC-4.0'"),
+            new Migration(6, "Keep running CGPA totals per student",
+                    "CREATE TABLE IF NOT EXISTS StudentAggregates (" +
+                            "student_id INTEGER PRIMARY KEY," +
+                            "weighted_points REAL NOT NULL," +
+                            "total_credits REAL NOT NULL," +
+                            "entry_count INTEGER NOT NULL," +
+                            "FOREIGN KEY (student_id) REFERENCES Students(student_id) ON DELETE CASCADE" +
+                            ")",
+                    "INSERT INTO StudentAggregates (student_id, weighted_points, total_credits, entry_count) " +
+                            "SELECT student_id, SUM(gpa_value * total_credits), SUM(total_credits), COUNT(*) " +
+                            "FROM GPAEntries GROUP BY student_id"),
+            // date_calculated held LocalDateTime.toString() in the JVM's zone; 'utc' treats it as local time.
+            new Migration(7, "Store calculation time as epoch milliseconds",
+                    "ALTER TABLE GPAEntries ADD COLUMN calculated_at INTEGER NOT NULL DEFAULT 0",
+                    "UPDATE GPAEntries SET calculated_at = " +
+                            "CAST(ROUND((julianday(date_calculated, 'utc') - 2440587.5) * 86400000.0) AS INTEGER)",
+                    "DROP INDEX IF EXISTS idx_gpaentries_student_date",
+                    "ALTER TABLE GPAEntries DROP COLUMN date_calculated",
+                    "CREATE INDEX IF NOT EXISTS idx_gpaentries_student_calculated ON GPAEntries (student_id, calculated_at DESC)",
+                    "CREATE INDEX IF NOT EXISTS idx_gpaentries_calculated ON GPAEntries (calculated_at)"),
+            // The backfill must normalise exactly like Course.toCourseKey.
+            new Migration(8, "Keep per-course grade statistics",
+                    "ALTER TABLE Courses ADD COLUMN course_key TEXT NOT NULL DEFAULT ''",
+                    "UPDATE Courses SET course_key = COALESCE(upper(trim(course_code, ' ')), '')",
+                    "CREATE INDEX IF NOT EXISTS idx_courses_course_key ON Courses (course_key, entry_id)",
+                    "CREATE TABLE IF NOT EXISTS CourseStats (" +
+                            "course_key TEXT PRIMARY KEY," +
+                            "enrollment INTEGER NOT NULL," +
+                            "total_credits REAL NOT NULL," +
+                            "grade_point_sum REAL NOT NULL," +
+                            "passed INTEGER NOT NULL" +
+                            ") WITHOUT ROWID",
+                    "CREATE TABLE IF NOT EXISTS CourseGradeCounts (" +
+                            "course_key TEXT NOT NULL," +
+                            "grade_letter TEXT NOT NULL," +
+                            "enrollment INTEGER NOT NULL," +
+                            "PRIMARY KEY (course_key, grade_letter)" +
+                            ") WITHOUT ROWID",
+                    "INSERT INTO CourseStats (course_key, enrollment, total_credits, grade_point_sum, passed) " +
+                            "SELECT course_key, COUNT(*), SUM(credit), SUM(grade_point), SUM(grade_point > 0) " +
+                            "FROM Courses GROUP BY course_key",
+                    "INSERT INTO CourseGradeCounts (course_key, grade_letter, enrollment) " +
+                            "SELECT course_key, grade_letter, COUNT(*) FROM Courses GROUP BY course_key, grade_letter"),
+            // Generated, so every insert fills it in; DatabaseService.toSearchKey must fold exactly like lower().
+            new Migration(9, "Search students by case-folded full name",
+                    "ALTER TABLE Students ADD COLUMN search_key TEXT GENERATED ALWAYS AS (lower(first_name || ' ' || last_name)) VIRTUAL",
+                    "CREATE INDEX IF NOT EXISTS idx_students_search_key ON Students (search_key, first_name, last_name)")
+    );
+
+
+    static int migrate(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                    "version INTEGER PRIMARY KEY," +
+                    "description TEXT NOT NULL," +
+                    "applied_at TEXT NOT NULL" +
+                    ")");
+        }
+
+        int current = currentVersion(conn);
+        int applied = 0;
+
+        for (Migration migration : MIGRATIONS) {
+            if (migration.version <= current) {
+                continue;
+            }
+            apply(conn, migration);
+            applied++;
+        }
+        return applied;
+    }
+
+
+    static int currentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private static void apply(Connection conn, Migration migration) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement();
+             PreparedStatement record = conn.prepareStatement(
+                     "INSERT INTO schema_version (version, description, applied_at) VALUES (?, ?, ?)")) {
+
+            for (String sql : migration.statements) {
+                stmt.execute(sql);
+            }
+
+            record.setInt(1, migration.version);
+            record.setString(2, migration.description);
+            record.setString(3, LocalDateTime.now().toString());
+            record.executeUpdate();
+
+            conn.commit();
+            System.out.println("Applied schema migration " + migration.version + ": " + migration.description);
+        } catch (SQLException e) {
+            conn.rollback();
+            throw new SQLException("Schema migration " + migration.version + " failed: " + e.getMessage(), e);
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.gpa.app.db;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+
+/**
+ * SQLite durability/speed presets applied to every pooled connection, chosen with
+ * {@code -Dgpa.db.profile}. Under WAL, readers keep reading a consistent snapshot while the writer
+ * commits, instead of waiting on the rollback journal's exclusive lock.
+ *
+ * The default is LEGACY, so upgrading never weakens durability on its own. BALANCED trades the
+ * last few commits before a power loss for much cheaper commits and is opt-in, e.g. for the
+ * headless server with {@code -Dgpa.db.profile=BALANCED}. Under LEGACY an open read blocks every
+ * commit, so DatabaseService reads long listings (entry streams, analytics loads, recompute blocks)
+ * a bounded page at a time and never keeps a reader across them.
+ *
+ * <ul>
+ *   <li>LEGACY (default): rollback journal and SQLite defaults, as the app ran before profiles existed.</li>
+ *   <li>DURABLE: WAL, every commit synced to disk.</li>
+ *   <li>BALANCED: WAL, synced at checkpoints; a power loss can drop the last commits but never corrupts.</li>
+ *   <li>FAST: WAL, no syncing; for throwaway databases such as imports into a scratch file.</li>
+ * </ul>
+ */
+public enum StorageProfile {
+
+    LEGACY("DELETE", "FULL", -2_000, "DEFAULT", 0L),
+    DURABLE("WAL", "FULL", -16_384, "MEMORY", 64L << 20),
+    BALANCED("WAL", "NORMAL", -16_384, "MEMORY", 256L << 20),
+    FAST("WAL", "OFF", -65_536, "MEMORY", 1L << 30);
+
+    public static final StorageProfile DEFAULT = LEGACY;
+
+    private final String journalMode;
+    private final String synchronous;
+    private final int cacheSize;
+    private final String tempStore;
+    private final long mmapSize;
+
+    StorageProfile(String journalMode, String synchronous, int cacheSize, String tempStore, long mmapSize) {
+        this.journalMode = journalMode;
+        this.synchronous = synchronous;
+        this.cacheSize = cacheSize;
+        this.tempStore = tempStore;
+        this.mmapSize = mmapSize;
+    }
+
+
+    public static StorageProfile fromName(String name) {
+        if (name == null || name.isBlank()) {
+            return DEFAULT;
+        }
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public boolean isWal() {
+        return journalMode.equals("WAL");
+    }
+
+    public String getJournalMode() {
+        return journalMode;
+    }
+
+    public String getSynchronous() {
+        return synchronous;
+    }
+
+    /** Negative values are KiB, as in {@code PRAGMA cache_size}. */
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    public String getTempStore() {
+        return tempStore;
+    }
+
+    public long getMmapSize() {
+        return mmapSize;
+    }
+
+
+    // journal_mode is stored in the database file, so only the writer (opened first) sets it.
+    void apply(Statement stmt, boolean writer) throws SQLException {
+        if (writer) {
+            stmt.execute("PRAGMA journal_mode = " + journalMode);
+        }
+        stmt.execute("PRAGMA synchronous = " + synchronous);
+        stmt.execute("PRAGMA cache_size = " + cacheSize);
+        stmt.execute("PRAGMA temp_store = " + tempStore);
+        stmt.execute("PRAGMA mmap_size = " + mmapSize);
+    }
+}
@@ -0,0 +1,32 @@
+package com.gpa.app.db;
+
+import java.sql.SQLException;
+import java.util.List;
+
+
+/**
+ * Command-line consistency check for StudentAggregates. Reports students whose running totals
+ * differ from their GPAEntries and, with {@code --repair}, rebuilds every aggregate from the raw rows.
+ */
+public class StudentAggregateChecker {
+
+    public static void main(String[] args) throws SQLException {
+        boolean repair = args.length > 0 && args[0].equals("--repair");
+
+        List<Integer> inconsistent;
+        try {
+            inconsistent = GPARepository.checkStudentAggregates(repair);
+        } finally {
+            DatabaseService.shutdown();
+        }
+
+        if (inconsistent.isEmpty()) {
+            System.out.println("Student aggregates are consistent with GPAEntries.");
+        } else if (repair) {
+            System.out.println("Rebuilt all student aggregates; " + inconsistent.size() + " were inconsistent: " + inconsistent);
+        } else {
+            System.err.println(inconsistent.size() + " student aggregates are inconsistent: " + inconsistent);
+            System.exit(1);
+        }
+    }
+}
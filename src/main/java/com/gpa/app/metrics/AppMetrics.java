@@ -0,0 +1,151 @@
+package com.gpa.app.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+
+/**
+ * Process-wide metrics: per-operation latency and errors for the database layer and the cohort
+ * analytics store, GPA calculation
+ * counters, and gauges that other parts of the app register. {@link #start()} publishes them over
+ * JMX (visible in JConsole / VisualVM under {@code com.gpa.app}) and prints a logfmt snapshot every
+ * {@code -Dgpa.metrics.logIntervalSeconds} (default 60, 0 disables the log).
+ */
+public final class AppMetrics implements AppMetricsMXBean {
+
+    private static final long LOG_INTERVAL_SECONDS = Long.getLong("gpa.metrics.logIntervalSeconds", 60L);
+    private static final String DOMAIN = "com.gpa.app";
+
+    private static final AppMetrics INSTANCE = new AppMetrics();
+
+    private final OperationMetrics database = new OperationMetrics("db");
+    private final OperationMetrics analytics = new OperationMetrics("analytics");
+    private final LongAdder gpaCalculations = new LongAdder();
+    private final LongAdder gpaSaves = new LongAdder();
+    private final LongAdder gpaSaveFailures = new LongAdder();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService reporter;
+
+    private AppMetrics() {
+    }
+
+
+    public static OperationMetrics database() {
+        return INSTANCE.database;
+    }
+
+    public static OperationMetrics analytics() {
+        return INSTANCE.analytics;
+    }
+
+    public static void gpaCalculated() {
+        INSTANCE.gpaCalculations.increment();
+    }
+
+    public static void gpaSaved(boolean success) {
+        (success ? INSTANCE.gpaSaves : INSTANCE.gpaSaveFailures).increment();
+    }
+
+    public static void registerGauge(String name, LongSupplier value) {
+        INSTANCE.gauges.put(name, value);
+    }
+
+    public static AppMetrics get() {
+        return INSTANCE;
+    }
+
+
+    /** Registers the MBeans and starts the log snapshot; later calls do nothing. */
+    public static synchronized void start() {
+        if (INSTANCE.reporter != null) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        register(server, INSTANCE, DOMAIN + ":type=Metrics");
+        INSTANCE.database.onNewOperation(stats ->
+                register(server, stats, DOMAIN + ":type=DatabaseOperation,name=" + ObjectName.quote(stats.getName())));
+        INSTANCE.analytics.onNewOperation(stats ->
+                register(server, stats, DOMAIN + ":type=AnalyticsOperation,name=" + ObjectName.quote(stats.getName())));
+
+        INSTANCE.reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "gpa-metrics-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (LOG_INTERVAL_SECONDS > 0) {
+            INSTANCE.reporter.scheduleAtFixedRate(() -> System.out.print(INSTANCE.snapshot()),
+                    LOG_INTERVAL_SECONDS, LOG_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    public static synchronized void stop() {
+        if (INSTANCE.reporter != null) {
+            INSTANCE.reporter.shutdownNow();
+            INSTANCE.reporter = null;
+        }
+    }
+
+    private static void register(MBeanServer server, Object mbean, String name) {
+        try {
+            server.registerMBean(mbean, new ObjectName(name));
+        } catch (InstanceAlreadyExistsException e) {
+            // Registered by an earlier start(), or seen twice while start() was wiring up.
+        } catch (JMException e) {
+            System.err.println("Could not register MBean " + name + ": " + e.getMessage());
+        }
+    }
+
+
+    @Override
+    public long getGpaCalculations() {
+        return gpaCalculations.sum();
+    }
+
+    @Override
+    public long getGpaSaves() {
+        return gpaSaves.sum();
+    }
+
+    @Override
+    public long getGpaSaveFailures() {
+        return gpaSaveFailures.sum();
+    }
+
+    @Override
+    public Map<String, Long> getGauges() {
+        Map<String, Long> values = new TreeMap<>();
+        gauges.forEach((name, gauge) -> values.put(name, gauge.getAsLong()));
+        return values;
+    }
+
+    @Override
+    public String snapshot() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "metrics component=gpa calculations=%d saves=%d save_failures=%d",
+                getGpaCalculations(), getGpaSaves(), getGpaSaveFailures()));
+        getGauges().forEach((name, value) -> out.append(' ').append(name).append('=').append(value));
+        out.append(System.lineSeparator());
+
+        for (OperationMetrics component : List.of(database, analytics)) {
+            component.getOperations().stream()
+                    .sorted(Comparator.comparing(OperationStats::getName))
+                    .forEach(stats -> out.append(stats.toLogLine(component.getComponent())).append(System.lineSeparator()));
+        }
+        return out.toString();
+    }
+}
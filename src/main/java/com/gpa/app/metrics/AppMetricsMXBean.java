@@ -0,0 +1,20 @@
+package com.gpa.app.metrics;
+
+import java.util.Map;
+
+
+/** Application-wide counters and gauges, registered as {@code com.gpa.app:type=Metrics}. */
+public interface AppMetricsMXBean {
+
+    long getGpaCalculations();
+
+    long getGpaSaves();
+
+    long getGpaSaveFailures();
+
+    /** Current values of registered gauges, e.g. background tasks in flight and ingestion queue depth. */
+    Map<String, Long> getGauges();
+
+    /** The same text the periodic log snapshot prints. */
+    String snapshot();
+}
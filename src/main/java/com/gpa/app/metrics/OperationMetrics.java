@@ -0,0 +1,87 @@
+package com.gpa.app.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+
+/**
+ * Latency histograms and error counters for the operations of one component, keyed by operation
+ * name. An operation counts as an error when it throws; the time it took is recorded either way.
+ */
+public class OperationMetrics {
+
+    @FunctionalInterface
+    public interface Call<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    @FunctionalInterface
+    public interface Action<E extends Exception> {
+        void run() throws E;
+    }
+
+    private final String component;
+    private final Map<String, OperationStats> operations = new ConcurrentHashMap<>();
+    private volatile Consumer<OperationStats> onNewOperation = stats -> {
+    };
+
+    OperationMetrics(String component) {
+        this.component = component;
+    }
+
+
+    public <T, E extends Exception> T time(String operation, Call<T, E> call) throws E {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = call.call();
+            failed = false;
+            return result;
+        } finally {
+            stats(operation).record(System.nanoTime() - start, failed);
+        }
+    }
+
+    public <E extends Exception> void run(String operation, Action<E> action) throws E {
+        time(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+
+    public String getComponent() {
+        return component;
+    }
+
+    public OperationStats get(String operation) {
+        return operations.get(operation);
+    }
+
+    public List<OperationStats> getOperations() {
+        return new ArrayList<>(operations.values());
+    }
+
+    private OperationStats stats(String operation) {
+        OperationStats stats = operations.get(operation);
+        if (stats != null) {
+            return stats;
+        }
+        OperationStats created = new OperationStats(operation);
+        stats = operations.putIfAbsent(operation, created);
+        if (stats == null) {
+            onNewOperation.accept(created);
+            return created;
+        }
+        return stats;
+    }
+
+    // Used by AppMetrics to register an MBean for every operation, including ones first seen later; may see one twice.
+    void onNewOperation(Consumer<OperationStats> listener) {
+        onNewOperation = listener;
+        operations.values().forEach(listener);
+    }
+}
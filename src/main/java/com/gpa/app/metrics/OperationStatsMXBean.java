@@ -0,0 +1,22 @@
+package com.gpa.app.metrics;
+
+
+/** JMX view of one instrumented operation; times are in milliseconds since the process started. */
+public interface OperationStatsMXBean {
+
+    String getName();
+
+    long getCount();
+
+    long getErrorCount();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP95Millis();
+
+    double getP99Millis();
+
+    double getMaxMillis();
+}
@@ -21,8 +21,34 @@ public class Course {
     }
 
 
+    /**
+     * The form course codes are grouped by: surrounding spaces removed and ASCII letters upper-cased,
+     * the same as SQLite's {@code upper(trim(code))}, so "cse 1101 " and "CSE 1101" are one course.
+     */
+    public static String toCourseKey(String courseCode) {
+        if (courseCode == null) {
+            return "";
+        }
+        int start = 0;
+        int end = courseCode.length();
+        while (start < end && courseCode.charAt(start) == ' ') {
+            start++;
+        }
+        while (end > start && courseCode.charAt(end - 1) == ' ') {
+            end--;
+        }
+        StringBuilder key = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = courseCode.charAt(i);
+            key.append(c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c);
+        }
+        return key.toString();
+    }
+
+
     public String getCourseName() { return courseName; }
     public String getCourseCode() { return courseCode; }
+    public String getCourseKey() { return toCourseKey(courseCode); }
 
     public double getCredit() { return courseCredit; }
 
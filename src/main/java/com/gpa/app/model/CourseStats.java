@@ -0,0 +1,54 @@
+package com.gpa.app.model;
+
+import java.util.Collections;
+import java.util.Map;
+
+public class CourseStats {
+    private String courseKey;
+    private int enrollment;
+    private double totalCredits;
+    private double gradePointSum;
+    private int passed;
+    private Map<String, Integer> gradeCounts;
+
+    public CourseStats(String courseKey, int enrollment, double totalCredits, double gradePointSum, int passed, Map<String, Integer> gradeCounts) {
+        this.courseKey = courseKey;
+        this.enrollment = enrollment;
+        this.totalCredits = totalCredits;
+        this.gradePointSum = gradePointSum;
+        this.passed = passed;
+        this.gradeCounts = Collections.unmodifiableMap(gradeCounts);
+    }
+
+    /** See {@link Course#toCourseKey(String)}. */
+    public String getCourseKey() {
+        return courseKey;
+    }
+
+    /** Number of times the course appears across all saved entries. */
+    public int getEnrollment() {
+        return enrollment;
+    }
+
+    public double getTotalCredits() {
+        return totalCredits;
+    }
+
+    public int getPassed() {
+        return passed;
+    }
+
+    /** Grade letter -> enrollment; empty when only the totals were loaded. */
+    public Map<String, Integer> getGradeCounts() {
+        return gradeCounts;
+    }
+
+    public double getAverageGradePoint() {
+        return enrollment > 0 ? gradePointSum / enrollment : 0.0;
+    }
+
+    /** Share of enrollments with a grade point above zero, from 0 to 1. */
+    public double getPassRate() {
+        return enrollment > 0 ? (double) passed / enrollment : 0.0;
+    }
+}
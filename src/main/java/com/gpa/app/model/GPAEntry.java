@@ -1,27 +1,44 @@
 package com.gpa.app.model;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 
 public class GPAEntry {
+
+    // Scale of entries saved before scales were recorded.
+    public static final String LEGACY_GRADING_SCALE = "UGC-4.0";
+
     private int entryId;
     private int studentId;
     private String studentName;
     private String studentRoll;
     private double gpaValue;
     private double totalCredits;
-    private LocalDateTime date;
+    // Epoch milliseconds, as stored; converted to a local date-time only when asked for.
+    private long calculatedAt;
+    private String gradingScale;
 
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
-    public GPAEntry(int entryId, int studentId, String studentName, String studentRoll, double gpaValue, double totalCredits, LocalDateTime date) {
+    public GPAEntry(int entryId, int studentId, String studentName, String studentRoll, double gpaValue, double totalCredits, long calculatedAt, String gradingScale) {
         this.entryId = entryId;
         this.studentId = studentId;
         this.studentName = studentName;
         this.studentRoll = studentRoll;
         this.gpaValue = gpaValue;
         this.totalCredits = totalCredits;
-        this.date = date;
+        this.calculatedAt = calculatedAt;
+        this.gradingScale = gradingScale;
+    }
+
+    public GPAEntry(int entryId, int studentId, String studentName, String studentRoll, double gpaValue, double totalCredits, LocalDateTime date, String gradingScale) {
+        this(entryId, studentId, studentName, studentRoll, gpaValue, totalCredits, toEpochMillis(date), gradingScale);
+    }
+
+    public GPAEntry(int entryId, int studentId, String studentName, String studentRoll, double gpaValue, double totalCredits, LocalDateTime date) {
+        this(entryId, studentId, studentName, studentRoll, gpaValue, totalCredits, date, LEGACY_GRADING_SCALE);
     }
 
 
@@ -56,10 +73,22 @@ public class GPAEntry {
     }
 
     public LocalDateTime getDate() {
-        return date;
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(calculatedAt), ZoneId.systemDefault());
+    }
+
+    public long getCalculatedAt() {
+        return calculatedAt;
+    }
+
+    public String getGradingScale() {
+        return gradingScale;
     }
 
     public String getDateCalculated() {
-        return date.format(FORMATTER);
+        return getDate().format(FORMATTER);
+    }
+
+    public static long toEpochMillis(LocalDateTime date) {
+        return date.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
     }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.gpa.app.model;
+
+import java.util.List;
+
+public class GPARecord {
+    private GPAEntry entry;
+    private List<Course> courses;
+
+    public GPARecord(GPAEntry entry, List<Course> courses) {
+        this.entry = entry;
+        this.courses = courses;
+    }
+
+    public GPAEntry getEntry() {
+        return entry;
+    }
+
+    public List<Course> getCourses() {
+        return courses;
+    }
+}
@@ -0,0 +1,36 @@
+package com.gpa.app.model;
+
+public class StudentAggregate {
+    private int studentId;
+    private double weightedPoints;
+    private double totalCredits;
+    private int entryCount;
+
+    public StudentAggregate(int studentId, double weightedPoints, double totalCredits, int entryCount) {
+        this.studentId = studentId;
+        this.weightedPoints = weightedPoints;
+        this.totalCredits = totalCredits;
+        this.entryCount = entryCount;
+    }
+
+    public int getStudentId() {
+        return studentId;
+    }
+
+    /** Sum of credit x grade point over all of the student's entries. */
+    public double getWeightedPoints() {
+        return weightedPoints;
+    }
+
+    public double getTotalCredits() {
+        return totalCredits;
+    }
+
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    public double getCgpa() {
+        return totalCredits > 0.0 ? weightedPoints / totalCredits : 0.0;
+    }
+}
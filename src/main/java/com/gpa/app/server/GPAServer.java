@@ -0,0 +1,450 @@
+package com.gpa.app.server;
+
+import com.gpa.app.analytics.CohortAnalytics;
+import com.gpa.app.analytics.CourseGradeDistribution;
+import com.gpa.app.analytics.GPAHistogram;
+import com.gpa.app.db.DatabaseService;
+import com.gpa.app.metrics.AppMetrics;
+import com.gpa.app.model.GPAEntry;
+import com.gpa.app.model.GPARecord;
+import com.gpa.app.model.Student;
+import com.gpa.app.model.StudentAggregate;
+import com.gpa.app.service.GPAIngestionQueue;
+import com.gpa.app.service.GPAService;
+import com.gpa.app.service.GradeImporter;
+import com.gpa.app.service.GradingScale;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+
+/**
+ * Headless HTTP front end to the GPA database, so several clients can share one database file
+ * without the JavaFX UI. Every request runs on its own virtual thread; reads go straight to the
+ * connection pool and submitted entries go through the {@link GPAIngestionQueue}, so concurrent
+ * submissions share write transactions.
+ *
+ * <pre>
+ *   GET    /health
+ *   GET    /metrics             the same logfmt snapshot AppMetrics logs periodically
+ *   GET    /students?prefix=&amp;afterFirst=&amp;afterLast=&amp;limit=
+ *   GET    /students/{id}/entries
+ *   GET    /students/{id}/latest
+ *   GET    /students/{id}/cgpa
+ *   DELETE /students/{id}
+ *   DELETE /students/{id}/latest
+ *   POST   /entries?scale=      body: CSV rows as accepted by {@link GradeImporter}
+ *   DELETE /entries/{id}
+ *   GET    /analytics/summary
+ *   GET    /analytics/histogram?binWidth=
+ *   GET    /analytics/percentiles?p=10,50,90
+ *   GET    /analytics/courses
+ *   GET    /analytics/courses/{code}
+ *   GET    /analytics/top?limit=
+ * </pre>
+ *
+ * The analytics routes are served from {@link CohortAnalytics}, which is loaded when the server starts.
+ *
+ * Binds to 127.0.0.1:8080 unless {@code -Dgpa.server.host} / {@code -Dgpa.server.port} say otherwise.
+ */
+public class GPAServer implements AutoCloseable {
+
+    private static final String HOST = System.getProperty("gpa.server.host", "127.0.0.1");
+    private static final int PORT = Integer.getInteger("gpa.server.port", 8080);
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BODY_BYTES = 8 << 20;
+
+    private final DatabaseService db;
+    private final GPAIngestionQueue queue;
+    private final CohortAnalytics analytics;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private static class HttpError extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        final int status;
+
+        HttpError(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Route {
+        void handle(HttpExchange exchange, String[] path) throws IOException, SQLException, HttpError;
+    }
+
+
+    public GPAServer(DatabaseService db, GPAIngestionQueue queue, CohortAnalytics analytics, InetSocketAddress address) throws IOException {
+        this.db = db;
+        this.queue = queue;
+        this.analytics = analytics;
+        this.server = HttpServer.create(address, 0);
+        server.setExecutor(executor);
+
+        server.createContext("/health", exchange -> dispatch(exchange, this::health));
+        server.createContext("/metrics", exchange -> dispatch(exchange, this::metrics));
+        server.createContext("/students", exchange -> dispatch(exchange, this::students));
+        server.createContext("/entries", exchange -> dispatch(exchange, this::entries));
+        server.createContext("/analytics", exchange -> dispatch(exchange, this::analytics));
+    }
+
+
+    public void start() {
+        // Reading every entry takes a while on a large database; do it before the first request asks.
+        executor.submit(() -> {
+            try {
+                analytics.load();
+            } catch (SQLException e) {
+                System.err.println("GPAServer: loading analytics failed, will retry on first use: " + e.getMessage());
+            }
+        });
+        server.start();
+        System.out.println("GPA server listening on http://" + server.getAddress().getHostString() + ":" + getPort());
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /** Stops accepting requests and waits up to a second for in-flight ones; the queue and database stay open. */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+
+    private void dispatch(HttpExchange exchange, Route route) throws IOException {
+        try {
+            // "/students/12/latest" -> ["students", "12", "latest"]
+            String[] path = exchange.getRequestURI().getPath().replaceAll("^/+|/+$", "").split("/+");
+            route.handle(exchange, path);
+        } catch (HttpError e) {
+            sendError(exchange, e.status, e.getMessage());
+        } catch (SQLException e) {
+            System.err.println("GPAServer: " + exchange.getRequestMethod() + " " + exchange.getRequestURI() + " failed: " + e.getMessage());
+            sendError(exchange, 500, "Database error: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (RuntimeException e) {
+            System.err.println("GPAServer: " + exchange.getRequestMethod() + " " + exchange.getRequestURI() + " failed: " + e);
+            sendError(exchange, 500, "Internal error");
+        } finally {
+            exchange.close();
+        }
+    }
+
+
+    private void health(HttpExchange exchange, String[] path) throws IOException, HttpError {
+        requireMethod(exchange, "GET");
+        send(exchange, 200, new Json().beginObject()
+                .field("status", "ok")
+                .field("queueDepth", queue.getQueueDepth())
+                .field("entriesCommitted", queue.getEntriesCommitted())
+                .field("entriesFailed", queue.getEntriesFailed())
+                .endObject());
+    }
+
+
+    private void metrics(HttpExchange exchange, String[] path) throws IOException, HttpError {
+        requireMethod(exchange, "GET");
+        byte[] body = AppMetrics.get().snapshot().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+
+    private void students(HttpExchange exchange, String[] path) throws IOException, SQLException, HttpError {
+        if (path.length == 1) {
+            requireMethod(exchange, "GET");
+            listStudents(exchange);
+            return;
+        }
+
+        int studentId = parseId(path[1]);
+        String method = exchange.getRequestMethod();
+
+        if (path.length == 2) {
+            requireMethod(exchange, "DELETE");
+            if (!db.deleteStudent(studentId)) {
+                throw new HttpError(404, "No student " + studentId);
+            }
+            sendNoContent(exchange);
+            return;
+        }
+        if (path.length != 3) {
+            throw new HttpError(404, "Not found");
+        }
+
+        switch (path[2]) {
+            case "entries" -> {
+                requireMethod(exchange, "GET");
+                Json json = new Json().beginObject().name("entries").beginArray();
+                for (GPAEntry entry : db.getEntriesForStudent(studentId)) {
+                    json.entry(entry);
+                }
+                send(exchange, 200, json.endArray().endObject());
+            }
+            case "latest" -> {
+                if (method.equals("DELETE")) {
+                    if (!db.deleteLatestGpaEntryByStudentId(studentId)) {
+                        throw new HttpError(404, "No GPA entries for student " + studentId);
+                    }
+                    sendNoContent(exchange);
+                    return;
+                }
+                requireMethod(exchange, "GET");
+                GPARecord latest = db.getLatestEntryWithCourses(studentId);
+                if (latest == null) {
+                    throw new HttpError(404, "No GPA entries for student " + studentId);
+                }
+                send(exchange, 200, new Json().record(latest));
+            }
+            case "cgpa" -> {
+                requireMethod(exchange, "GET");
+                send(exchange, 200, new Json().aggregate(db.getStudentAggregate(studentId)));
+            }
+            default -> throw new HttpError(404, "Not found");
+        }
+    }
+
+    private void listStudents(HttpExchange exchange) throws IOException, SQLException {
+        Map<String, String> query = query(exchange);
+        int limit = Math.min(Integer.parseInt(query.getOrDefault("limit", String.valueOf(DEFAULT_PAGE_SIZE))), MAX_PAGE_SIZE);
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        Student after = query.containsKey("afterFirst")
+                ? new Student(query.get("afterFirst"), query.getOrDefault("afterLast", ""))
+                : null;
+
+        List<Student> page = db.getStudentsPage(query.get("prefix"), after, limit);
+
+        Json json = new Json().beginObject().name("students").beginArray();
+        page.forEach(json::student);
+        json.endArray().name("next");
+        if (page.size() < limit) {
+            json.nullValue();
+        } else {
+            Student last = page.get(page.size() - 1);
+            json.beginObject().field("afterFirst", last.getFirstName()).field("afterLast", last.getLastName()).endObject();
+        }
+        send(exchange, 200, json.endObject());
+    }
+
+
+    private void entries(HttpExchange exchange, String[] path) throws IOException, SQLException, HttpError {
+        if (path.length == 2) {
+            requireMethod(exchange, "DELETE");
+            int entryId = parseId(path[1]);
+            if (!db.deleteGpaEntry(entryId)) {
+                throw new HttpError(404, "No GPA entry " + entryId);
+            }
+            sendNoContent(exchange);
+            return;
+        }
+        if (path.length != 1) {
+            throw new HttpError(404, "Not found");
+        }
+        requireMethod(exchange, "POST");
+
+        String scaleName = query(exchange).get("scale");
+        GradingScale scale = scaleName == null ? GradingScale.getDefault() : GradingScale.forName(scaleName);
+
+        List<String> errors = new ArrayList<>();
+        List<GPARecord> records;
+        try (InputStream body = exchange.getRequestBody()) {
+            byte[] bytes = body.readNBytes(MAX_BODY_BYTES + 1);
+            if (bytes.length > MAX_BODY_BYTES) {
+                throw new HttpError(413, "Request body is larger than " + MAX_BODY_BYTES + " bytes");
+            }
+            records = new GradeImporter(db, 1, scale).parseCsv(
+                    new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8), errors);
+        }
+        // Nothing is saved unless every row is valid, so a client can fix the file and resend it whole.
+        if (!errors.isEmpty()) {
+            send(exchange, 400, new Json().beginObject().field("error", "Invalid rows").strings("rows", errors).endObject());
+            return;
+        }
+
+        List<CompletableFuture<Integer>> pending = new ArrayList<>(records.size());
+        for (GPARecord record : records) {
+            pending.add(queue.submit(record));
+        }
+
+        boolean failed = false;
+        Json json = new Json().beginObject().name("entries").beginArray();
+        for (int i = 0; i < records.size(); i++) {
+            GPAEntry entry = records.get(i).getEntry();
+            json.beginObject()
+                    .field("firstName", entry.getStudentName())
+                    .field("lastName", entry.getStudentRoll())
+                    .field("gpa", entry.getGpaValue());
+            try {
+                json.field("entryId", pending.get(i).join());
+            } catch (CompletionException e) {
+                failed = true;
+                json.field("error", e.getCause() == null ? e.getMessage() : e.getCause().getMessage());
+            }
+            json.endObject();
+        }
+        send(exchange, failed ? 500 : 201, json.endArray().endObject());
+    }
+
+
+    private void analytics(HttpExchange exchange, String[] path) throws IOException, SQLException, HttpError {
+        requireMethod(exchange, "GET");
+        if (path.length < 2) {
+            throw new HttpError(404, "Not found");
+        }
+        Map<String, String> query = query(exchange);
+
+        switch (path[1]) {
+            case "summary" -> send(exchange, 200, new Json().beginObject()
+                    .field("students", analytics.getStudentCount())
+                    .field("entries", analytics.getEntryCount())
+                    .endObject());
+            case "histogram" -> {
+                GPAHistogram histogram = analytics.getGpaHistogram(Double.parseDouble(query.getOrDefault("binWidth", "0.25")));
+                Json json = new Json().beginObject().field("binWidth", histogram.getBinWidth()).name("bins").beginArray();
+                for (int i = 0; i < histogram.getBinCount(); i++) {
+                    json.beginObject()
+                            .field("from", histogram.getLowerBound(i))
+                            .field("to", histogram.getUpperBound(i))
+                            .field("students", histogram.getCount(i))
+                            .endObject();
+                }
+                send(exchange, 200, json.endArray().endObject());
+            }
+            case "percentiles" -> {
+                String[] requested = query.getOrDefault("p", "10,25,50,75,90").split(",");
+                double[] percentiles = new double[requested.length];
+                for (int i = 0; i < requested.length; i++) {
+                    percentiles[i] = Double.parseDouble(requested[i].trim());
+                }
+                double[] values = analytics.getGpaPercentiles(percentiles);
+                Json json = new Json().beginObject().name("percentiles").beginArray();
+                for (int i = 0; i < values.length; i++) {
+                    json.beginObject().field("p", percentiles[i]).field("gpa", values[i]).endObject();
+                }
+                send(exchange, 200, json.endArray().endObject());
+            }
+            case "courses" -> {
+                if (path.length == 2) {
+                    send(exchange, 200, new Json().beginObject().strings("courses", analytics.getCourseCodes()).endObject());
+                    return;
+                }
+                CourseGradeDistribution distribution = analytics.getCourseDistribution(path[2]);
+                if (distribution.getTotal() == 0) {
+                    throw new HttpError(404, "No grades for course " + path[2]);
+                }
+                Json json = new Json().beginObject()
+                        .field("courseCode", distribution.getCourseCode())
+                        .field("students", distribution.getTotal())
+                        .field("averageGradePoint", distribution.getAverageGradePoint())
+                        .name("grades").beginObject();
+                distribution.getCounts().forEach(json::field);
+                send(exchange, 200, json.endObject().endObject());
+            }
+            case "top" -> {
+                int limit = Math.min(Integer.parseInt(query.getOrDefault("limit", "10")), MAX_PAGE_SIZE);
+                Json json = new Json().beginObject().name("students").beginArray();
+                for (StudentAggregate aggregate : analytics.getTopStudents(Math.max(limit, 0))) {
+                    json.aggregate(aggregate);
+                }
+                send(exchange, 200, json.endArray().endObject());
+            }
+            default -> throw new HttpError(404, "Not found");
+        }
+    }
+
+
+    private static void requireMethod(HttpExchange exchange, String method) throws HttpError {
+        if (!exchange.getRequestMethod().equals(method)) {
+            exchange.getResponseHeaders().set("Allow", method);
+            throw new HttpError(405, exchange.getRequestMethod() + " is not supported here");
+        }
+    }
+
+    private static int parseId(String segment) throws HttpError {
+        try {
+            return Integer.parseInt(segment);
+        } catch (NumberFormatException e) {
+            throw new HttpError(404, "Not found");
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null || raw.isEmpty()) {
+            return params;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            params.put(key, value);
+        }
+        return params;
+    }
+
+
+    private static void send(HttpExchange exchange, int status, Json json) throws IOException {
+        byte[] body = json.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void sendNoContent(HttpExchange exchange) throws IOException {
+        exchange.sendResponseHeaders(204, -1);
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, new Json().beginObject().field("error", message).endObject());
+    }
+
+
+    public static void main(String[] args) throws IOException {
+        AppMetrics.start();
+        DatabaseService db = DatabaseService.getInstance();
+        GPAServer server = new GPAServer(db, GPAService.getIngestionQueue(), CohortAnalytics.attach(db), new InetSocketAddress(HOST, PORT));
+
+        // Stop taking requests first, then commit what is queued, then close the database.
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            GPAService.shutdownIngestion();
+            DatabaseService.shutdown();
+        }, "gpa-server-shutdown"));
+
+        server.start();
+    }
+}
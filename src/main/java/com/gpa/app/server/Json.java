@@ -0,0 +1,187 @@
+package com.gpa.app.server;
+
+import com.gpa.app.model.Course;
+import com.gpa.app.model.GPAEntry;
+import com.gpa.app.model.GPARecord;
+import com.gpa.app.model.Student;
+import com.gpa.app.model.StudentAggregate;
+
+import java.util.List;
+
+
+/** Just enough JSON output for the server's responses; requests carry CSV or query parameters. */
+final class Json {
+
+    private final StringBuilder out = new StringBuilder(256);
+    private boolean needsComma;
+
+    Json beginObject() {
+        comma();
+        out.append('{');
+        needsComma = false;
+        return this;
+    }
+
+    Json endObject() {
+        out.append('}');
+        needsComma = true;
+        return this;
+    }
+
+    Json beginArray() {
+        comma();
+        out.append('[');
+        needsComma = false;
+        return this;
+    }
+
+    Json endArray() {
+        out.append(']');
+        needsComma = true;
+        return this;
+    }
+
+    Json name(String name) {
+        comma();
+        quote(name);
+        out.append(':');
+        needsComma = false;
+        return this;
+    }
+
+    Json value(String value) {
+        comma();
+        if (value == null) {
+            out.append("null");
+        } else {
+            quote(value);
+        }
+        needsComma = true;
+        return this;
+    }
+
+    Json value(long value) {
+        comma();
+        out.append(value);
+        needsComma = true;
+        return this;
+    }
+
+    // JSON has no NaN or Infinity.
+    Json value(double value) {
+        comma();
+        out.append(Double.isFinite(value) ? Double.toString(value) : "null");
+        needsComma = true;
+        return this;
+    }
+
+    Json nullValue() {
+        comma();
+        out.append("null");
+        needsComma = true;
+        return this;
+    }
+
+    Json field(String name, String value) {
+        return name(name).value(value);
+    }
+
+    Json field(String name, long value) {
+        return name(name).value(value);
+    }
+
+    Json field(String name, double value) {
+        return name(name).value(value);
+    }
+
+    Json strings(String name, List<String> values) {
+        name(name).beginArray();
+        values.forEach(this::value);
+        return endArray();
+    }
+
+
+    Json student(Student student) {
+        return beginObject()
+                .field("studentId", student.getStudentId())
+                .field("firstName", student.getFirstName())
+                .field("lastName", student.getLastName())
+                .endObject();
+    }
+
+    Json entry(GPAEntry entry) {
+        return beginObject()
+                .field("entryId", entry.getEntryId())
+                .field("studentId", entry.getStudentId())
+                .field("gpa", entry.getGpaValue())
+                .field("totalCredits", entry.getTotalCredits())
+                .field("calculatedAt", entry.getCalculatedAt())
+                .field("gradingScale", entry.getGradingScale())
+                .endObject();
+    }
+
+    Json record(GPARecord record) {
+        GPAEntry entry = record.getEntry();
+        beginObject()
+                .field("entryId", entry.getEntryId())
+                .field("studentId", entry.getStudentId())
+                .field("gpa", entry.getGpaValue())
+                .field("totalCredits", entry.getTotalCredits())
+                .field("calculatedAt", entry.getCalculatedAt())
+                .field("gradingScale", entry.getGradingScale())
+                .name("courses").beginArray();
+        for (Course course : record.getCourses()) {
+            beginObject()
+                    .field("courseCode", course.getCourseCode())
+                    .field("courseName", course.getCourseName())
+                    .field("credit", course.getCredit())
+                    .field("grade", course.getGradeLetter())
+                    .field("gradePoint", course.getGradePoint())
+                    .endObject();
+        }
+        return endArray().endObject();
+    }
+
+    Json aggregate(StudentAggregate aggregate) {
+        return beginObject()
+                .field("studentId", aggregate.getStudentId())
+                .field("cgpa", aggregate.getCgpa())
+                .field("totalCredits", aggregate.getTotalCredits())
+                .field("entryCount", aggregate.getEntryCount())
+                .endObject();
+    }
+
+
+    private void comma() {
+        if (needsComma) {
+            out.append(',');
+        }
+    }
+
+    private void quote(String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+}
@@ -0,0 +1,113 @@
+package com.gpa.app.service;
+
+import com.gpa.app.metrics.AppMetrics;
+import com.gpa.app.model.Course;
+
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Reusable struct-of-arrays buffer of (credit, grade point) pairs. {@link #compute()} derives the
+ * weighted GPA and total credits in one pass without allocating, using Neumaier compensated
+ * summation so long course lists do not accumulate rounding drift.
+ */
+public final class GPAAggregator {
+
+    public static final int GPA = 0;
+    public static final int TOTAL_CREDITS = 1;
+
+    private double[] credits;
+    private double[] gradePoints;
+    private int size;
+
+    private final double[] result = new double[2];
+
+    public GPAAggregator() {
+        this(16);
+    }
+
+    public GPAAggregator(int capacity) {
+        credits = new double[Math.max(capacity, 1)];
+        gradePoints = new double[credits.length];
+    }
+
+    public static GPAAggregator of(List<Course> courses) {
+        AppMetrics.gpaCalculated();
+        GPAAggregator aggregator = new GPAAggregator(courses == null ? 1 : courses.size());
+        aggregator.addAll(courses);
+        return aggregator.compute();
+    }
+
+
+    public void clear() {
+        size = 0;
+        result[GPA] = 0.0;
+        result[TOTAL_CREDITS] = 0.0;
+    }
+
+    public void add(double credit, double gradePoint) {
+        if (size == credits.length) {
+            credits = Arrays.copyOf(credits, size * 2);
+            gradePoints = Arrays.copyOf(gradePoints, size * 2);
+        }
+        credits[size] = credit;
+        gradePoints[size] = gradePoint;
+        size++;
+    }
+
+    public void addAll(List<Course> courses) {
+        if (courses == null) {
+            return;
+        }
+        for (int i = 0, n = courses.size(); i < n; i++) {
+            Course course = courses.get(i);
+            add(course.getCredit(), course.getGradePoint());
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+
+    public GPAAggregator compute() {
+        aggregate(credits, gradePoints, 0, size, result);
+        return this;
+    }
+
+    public double getGpa() {
+        return result[GPA];
+    }
+
+    public double getTotalCredits() {
+        return result[TOTAL_CREDITS];
+    }
+
+
+    /**
+     * The kernel: one pass over {@code [from, to)} that stores the credit-weighted GPA in
+     * {@code out[GPA]} and the credit sum in {@code out[TOTAL_CREDITS]}. GPA is 0.0 when there are no credits.
+     */
+    public static void aggregate(double[] credits, double[] gradePoints, int from, int to, double[] out) {
+        double weightedSum = 0.0, weightedCompensation = 0.0;
+        double creditSum = 0.0, creditCompensation = 0.0;
+
+        for (int i = from; i < to; i++) {
+            double credit = credits[i];
+            double weighted = credit * gradePoints[i];
+
+            double t = weightedSum + weighted;
+            weightedCompensation += Math.abs(weightedSum) >= Math.abs(weighted) ? (weightedSum - t) + weighted : (weighted - t) + weightedSum;
+            weightedSum = t;
+
+            t = creditSum + credit;
+            creditCompensation += Math.abs(creditSum) >= Math.abs(credit) ? (creditSum - t) + credit : (credit - t) + creditSum;
+            creditSum = t;
+        }
+
+        double total = creditSum + creditCompensation;
+        out[GPA] = total > 0.0 ? (weightedSum + weightedCompensation) / total : 0.0;
+        out[TOTAL_CREDITS] = total;
+    }
+}
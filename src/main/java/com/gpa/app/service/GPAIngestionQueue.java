@@ -0,0 +1,217 @@
+package com.gpa.app.service;
+
+import com.gpa.app.db.DatabaseService;
+import com.gpa.app.model.Course;
+import com.gpa.app.model.GPAEntry;
+import com.gpa.app.model.GPARecord;
+import com.gpa.app.model.Student;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Write-behind queue for GPA submissions. A single writer thread drains pending submissions and
+ * commits up to {@code batchSize} of them per SQLite transaction, waiting at most {@code lingerMillis}
+ * for a batch to fill, so one fsync is paid per batch instead of per submission.
+ */
+public class GPAIngestionQueue implements AutoCloseable {
+
+    private static class Submission {
+        final GPARecord record;
+        final CompletableFuture<Integer> result = new CompletableFuture<>();
+
+        Submission(GPARecord record) {
+            this.record = record;
+        }
+    }
+
+    private final DatabaseService db;
+    private final int batchSize;
+    private final long lingerMillis;
+
+    private final BlockingQueue<Submission> pending = new LinkedBlockingQueue<>();
+    private final Thread writerThread;
+    private volatile boolean accepting = true;
+
+    private final AtomicLong batchesCommitted = new AtomicLong();
+    private final AtomicLong entriesCommitted = new AtomicLong();
+    private final AtomicLong entriesFailed = new AtomicLong();
+    private final AtomicLong totalCommitNanos = new AtomicLong();
+    private volatile long lastCommitNanos = 0;
+
+    public GPAIngestionQueue(DatabaseService db, int batchSize, long lingerMillis) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1, got " + batchSize);
+        }
+        this.db = db;
+        this.batchSize = batchSize;
+        this.lingerMillis = lingerMillis;
+
+        this.writerThread = new Thread(this::drainLoop, "gpa-ingestion-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+
+    /** Queues a new entry for {@code student}, recorded as graded on {@code scale}. */
+    public CompletableFuture<Integer> submit(Student student, List<Course> courses, GradingScale scale) {
+        GPAAggregator totals = GPAAggregator.of(courses);
+        GPAEntry entry = new GPAEntry(
+                0,
+                0,
+                student.getFirstName(),
+                student.getLastName(),
+                totals.getGpa(),
+                totals.getTotalCredits(),
+                LocalDateTime.now(),
+                scale.getName()
+        );
+        return submit(new GPARecord(entry, List.copyOf(courses)));
+    }
+
+
+    public CompletableFuture<Integer> submit(GPARecord record) {
+        Submission submission = new Submission(record);
+        if (!accepting) {
+            submission.result.completeExceptionally(new RejectedExecutionException("Ingestion queue is closed."));
+            return submission.result;
+        }
+        pending.add(submission);
+        return submission.result;
+    }
+
+
+    private void drainLoop() {
+        List<Submission> batch = new ArrayList<>(batchSize);
+
+        while (accepting || !pending.isEmpty()) {
+            try {
+                Submission first = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Submission next = remaining > 0 ? pending.poll(remaining, TimeUnit.NANOSECONDS) : pending.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(submission -> submission.result.completeExceptionally(e));
+                return;
+            }
+
+            if (!batch.isEmpty()) {
+                commit(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<Submission> batch) {
+        List<GPARecord> records = new ArrayList<>(batch.size());
+        for (Submission submission : batch) {
+            records.add(submission.record);
+        }
+
+        long start = System.nanoTime();
+        try {
+            int[] entryIds = db.saveGpaRecords(records);
+            recordCommit(start, batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(entryIds[i]);
+            }
+        } catch (SQLException batchFailure) {
+            // One bad submission must not sink the rest of the batch: retry them one at a time.
+            for (Submission submission : batch) {
+                long single = System.nanoTime();
+                try {
+                    int entryId = db.saveGpaRecords(List.of(submission.record))[0];
+                    recordCommit(single, 1);
+                    submission.result.complete(entryId);
+                } catch (SQLException e) {
+                    entriesFailed.incrementAndGet();
+                    submission.result.completeExceptionally(e);
+                }
+            }
+        } catch (RuntimeException e) {
+            entriesFailed.addAndGet(batch.size());
+            batch.forEach(submission -> submission.result.completeExceptionally(e));
+        }
+    }
+
+    private void recordCommit(long startNanos, int entries) {
+        long elapsed = System.nanoTime() - startNanos;
+        lastCommitNanos = elapsed;
+        totalCommitNanos.addAndGet(elapsed);
+        batchesCommitted.incrementAndGet();
+        entriesCommitted.addAndGet(entries);
+    }
+
+
+    public int getQueueDepth() {
+        return pending.size();
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public long getLingerMillis() {
+        return lingerMillis;
+    }
+
+    public long getBatchesCommitted() {
+        return batchesCommitted.get();
+    }
+
+    public long getEntriesCommitted() {
+        return entriesCommitted.get();
+    }
+
+    public long getEntriesFailed() {
+        return entriesFailed.get();
+    }
+
+    public double getLastCommitMillis() {
+        return lastCommitNanos / 1_000_000.0;
+    }
+
+    public double getAverageCommitMillis() {
+        long batches = batchesCommitted.get();
+        return batches == 0 ? 0.0 : totalCommitNanos.get() / 1_000_000.0 / batches;
+    }
+
+
+    /** Stops accepting submissions and blocks until everything already queued has been committed. */
+    @Override
+    public void close() {
+        accepting = false;
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Anything that raced past the accepting check after the writer exited is failed, not dropped silently.
+        Submission straggler;
+        while ((straggler = pending.poll()) != null) {
+            straggler.result.completeExceptionally(new RejectedExecutionException("Ingestion queue is closed."));
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.gpa.app.service;
+
+import com.gpa.app.db.CourseColumns;
+import com.gpa.app.db.DatabaseService;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+
+/**
+ * Recomputes every stored course grade point and entry GPA from its grade letters on the entry's
+ * own {@link GradingScale}, e.g. after that scale's points are redefined in the configuration.
+ *
+ * Courses are read in entry_id order, a block of entries at a time, into {@link CourseColumns}. Each
+ * block is converted and aggregated across a fork-join pool and then written back in one
+ * transaction together with a checkpoint and the refreshed running totals of the block's students,
+ * so a cancelled or crashed run resumes after the last committed block instead of starting over.
+ *
+ * Entries graded on a scale that is no longer configured keep their stored points and are counted
+ * as skipped in the report.
+ */
+public class GPARecomputeJob {
+
+    public static final String JOB_NAME = "gpa-recompute";
+    public static final int DEFAULT_BLOCK_ENTRIES = 20_000;
+
+    // Entries per fork-join leaf; enough work to outweigh the task overhead.
+    private static final int LEAF_ENTRIES = 512;
+
+    public interface ProgressListener {
+        void onProgress(long processedEntries, long totalEntries);
+    }
+
+    public static class RecomputeReport {
+        private final long entries;
+        private final long courses;
+        private final long skippedEntries;
+        private final long elapsedNanos;
+        private final boolean completed;
+
+        RecomputeReport(long entries, long courses, long skippedEntries, long elapsedNanos, boolean completed) {
+            this.entries = entries;
+            this.courses = courses;
+            this.skippedEntries = skippedEntries;
+            this.elapsedNanos = elapsedNanos;
+            this.completed = completed;
+        }
+
+        public long getEntries() {
+            return entries;
+        }
+
+        public long getCourses() {
+            return courses;
+        }
+
+        /** Entries left as stored because their grading scale is not configured. */
+        public long getSkippedEntries() {
+            return skippedEntries;
+        }
+
+        public boolean isCompleted() {
+            return completed;
+        }
+
+        public double getElapsedSeconds() {
+            return elapsedNanos / 1_000_000_000.0;
+        }
+
+        public double getEntriesPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : entries / getElapsedSeconds();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %d GPA entries (%d courses, %d skipped) in %.2fs (%.0f entries/s)",
+                    completed ? "Recomputed" : "Stopped after", entries, courses, skippedEntries, getElapsedSeconds(), getEntriesPerSecond());
+        }
+    }
+
+    private final DatabaseService db;
+    private final int blockEntries;
+    private final ForkJoinPool pool;
+
+    private volatile boolean cancelled;
+    private ProgressListener listener = (processed, total) -> { };
+
+    public GPARecomputeJob(DatabaseService db) {
+        this(db, DEFAULT_BLOCK_ENTRIES, ForkJoinPool.commonPool());
+    }
+
+    public GPARecomputeJob(DatabaseService db, int blockEntries, ForkJoinPool pool) {
+        if (blockEntries < 1) {
+            throw new IllegalArgumentException("Block size must be at least 1 entry, got " + blockEntries);
+        }
+        this.db = db;
+        this.blockEntries = blockEntries;
+        this.pool = pool;
+    }
+
+    public void setProgressListener(ProgressListener listener) {
+        this.listener = listener;
+    }
+
+    /** Stops the run after the block in progress has been committed; the next run resumes from there. */
+    public void cancel() {
+        cancelled = true;
+    }
+
+
+    public RecomputeReport run() throws SQLException {
+        cancelled = false;
+        long start = System.nanoTime();
+
+        int after = db.loadJobCheckpoint(JOB_NAME);
+        if (after > 0) {
+            System.out.println("Resuming GPA recomputation after entry " + after);
+        }
+        long total = db.countGpaEntriesAfter(after);
+        long processed = 0;
+        long courses = 0;
+        long skipped = 0;
+
+        CourseColumns columns = new CourseColumns(blockEntries * 8);
+        double[] newPoints = new double[0];
+        GradingScale[] entryScales = new GradingScale[0];
+        // null for names that are not configured, so each unknown name is reported once.
+        Map<String, GradingScale> scalesByName = new HashMap<>();
+
+        while (!cancelled) {
+            int blockEnd = db.loadCourseColumns(after, blockEntries, columns);
+            if (blockEnd == after) {
+                break;
+            }
+            if (newPoints.length < columns.size()) {
+                newPoints = new double[columns.getGradePoints().length];
+            }
+            if (entryScales.length < columns.getEntryCount()) {
+                entryScales = new GradingScale[columns.getEntryScales().length];
+            }
+            for (int e = 0; e < columns.getEntryCount(); e++) {
+                entryScales[e] = resolve(columns.getEntryScales()[e], scalesByName);
+                if (entryScales[e] == null) {
+                    skipped++;
+                }
+            }
+
+            pool.invoke(new RecomputeAction(columns, entryScales, newPoints, 0, columns.getEntryCount()));
+            db.applyRecomputedColumns(JOB_NAME, columns, newPoints, blockEnd);
+
+            after = blockEnd;
+            // Entries without courses have nothing to recompute but still count towards the total.
+            processed += columns.getBlockEntryCount();
+            courses += columns.size();
+            // Entries saved after the initial count land in later blocks, so the total can grow.
+            total = Math.max(total, processed);
+            listener.onProgress(processed, total);
+        }
+
+        boolean completed = !cancelled;
+        if (completed) {
+            db.clearJobCheckpoint(JOB_NAME);
+        }
+        return new RecomputeReport(processed, courses, skipped, System.nanoTime() - start, completed);
+    }
+
+    private static GradingScale resolve(String name, Map<String, GradingScale> scalesByName) {
+        if (scalesByName.containsKey(name)) {
+            return scalesByName.get(name);
+        }
+        GradingScale scale = null;
+        try {
+            scale = GradingScale.forName(name);
+        } catch (IllegalArgumentException e) {
+            System.err.println("GPA recomputation: leaving entries graded on unknown scale '" + name + "' unchanged");
+        }
+        scalesByName.put(name, scale);
+        return scale;
+    }
+
+
+    private static class RecomputeAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        // Tasks never leave this JVM; the arrays are shared with the job, not copied.
+        private final transient CourseColumns columns;
+        private final transient GradingScale[] scales;
+        private final transient double[] newPoints;
+        private final int fromEntry;
+        private final int toEntry;
+
+        RecomputeAction(CourseColumns columns, GradingScale[] scales, double[] newPoints, int fromEntry, int toEntry) {
+            this.columns = columns;
+            this.scales = scales;
+            this.newPoints = newPoints;
+            this.fromEntry = fromEntry;
+            this.toEntry = toEntry;
+        }
+
+        @Override
+        protected void compute() {
+            if (toEntry - fromEntry > LEAF_ENTRIES) {
+                int mid = (fromEntry + toEntry) >>> 1;
+                invokeAll(new RecomputeAction(columns, scales, newPoints, fromEntry, mid),
+                        new RecomputeAction(columns, scales, newPoints, mid, toEntry));
+                return;
+            }
+
+            int[] starts = columns.getEntryStarts();
+            String[] letters = columns.getGradeLetters();
+            double[] oldPoints = columns.getGradePoints();
+            double[] credits = columns.getCredits();
+            double[] entryGpa = columns.getEntryGpa();
+            double[] entryCredits = columns.getEntryCredits();
+            double[] out = new double[2];
+
+            for (int e = fromEntry; e < toEntry; e++) {
+                GradingScale scale = scales[e];
+                for (int i = starts[e]; i < starts[e + 1]; i++) {
+                    newPoints[i] = scale != null ? scale.pointFor(letters[i]) : oldPoints[i];
+                }
+                GPAAggregator.aggregate(credits, newPoints, starts[e], starts[e + 1], out);
+                entryGpa[e] = out[GPAAggregator.GPA];
+                entryCredits[e] = out[GPAAggregator.TOTAL_CREDITS];
+            }
+        }
+    }
+
+
+    public static void main(String[] args) throws SQLException {
+        int blockEntries = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_BLOCK_ENTRIES;
+
+        GPARecomputeJob job = new GPARecomputeJob(DatabaseService.getInstance(), blockEntries, ForkJoinPool.commonPool());
+        job.setProgressListener((processed, total) ->
+                System.out.printf("GPA recomputation: %d / %d entries%n", processed, total));
+        try {
+            System.out.println(job.run());
+        } finally {
+            DatabaseService.shutdown();
+        }
+    }
+}
@@ -1,60 +1,114 @@
 package com.gpa.app.service;
 
+import com.gpa.app.db.DatabaseService;
 import com.gpa.app.db.GPARepository;
+import com.gpa.app.metrics.AppMetrics;
 import com.gpa.app.model.Course;
 import com.gpa.app.model.GPAEntry;
 import com.gpa.app.model.Student;
 
-import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 
 public class GPAService {
 
+    private static final int INGEST_BATCH_SIZE = Integer.getInteger("gpa.ingest.batchSize", 256);
+    private static final long INGEST_LINGER_MILLIS = Long.getLong("gpa.ingest.lingerMillis", 25L);
+
+    private static GPAIngestionQueue ingestionQueue;
+
+    // Per-thread buffer so the List<Course> API reuses the primitive kernel without allocating.
+    private static final ThreadLocal<GPAAggregator> SCRATCH = ThreadLocal.withInitial(GPAAggregator::new);
+
 
     public static double calculateGPA(List<Course> courses) {
         if (courses == null || courses.isEmpty()) {
             return 0.0;
         }
 
-        double totalWeightedPoints = 0.0;
-        double totalCredits = 0.0;
-
-        for (Course course : courses) {
-            totalWeightedPoints += course.getGradePoint() * course.getCredit();
-            totalCredits += course.getCredit();
-        }
+        AppMetrics.gpaCalculated();
+        GPAAggregator aggregator = SCRATCH.get();
+        aggregator.clear();
+        aggregator.addAll(courses);
+        return aggregator.compute().getGpa();
+    }
 
-        return totalCredits > 0 ? totalWeightedPoints / totalCredits : 0.0;
+    /** Grade point of {@code grade} on the default grading scale. */
+    public static double convertGradeToPoint(String grade) {
+        return GradingScale.getDefault().pointFor(grade);
     }
 
     public static boolean calculateAndSaveGPA(Student student, List<Course> courses) {
+        return calculateAndSaveGPA(student, courses, GradingScale.getDefault());
+    }
+
+    /**
+     * Saves a new entry through the ingestion queue and waits for its batch to commit, so entries
+     * saved from the UI share transactions with any concurrent submissions instead of each paying a sync.
+     * The wait includes the queue's linger time and any batches ahead of it; never call this on the FX thread.
+     */
+    public static boolean calculateAndSaveGPA(Student student, List<Course> courses, GradingScale scale) {
         try {
+            getIngestionQueue().submit(student, courses, scale).join();
+            AppMetrics.gpaSaved(true);
+            return true;
+
+        } catch (CompletionException | CancellationException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            System.err.println("GPAService: Failed during calculation and save. Error: " + cause.getMessage());
+            AppMetrics.gpaSaved(false);
+            return false;
+        }
+    }
 
-            double gpaValue = calculateGPA(courses);
-            double totalCredits = courses.stream().mapToDouble(Course::getCredit).sum();
 
-            Student savedStudent = GPARepository.saveOrGetStudent(student.getFirstName(), student.getLastName());
+    /** Update mode: the student's latest entry is swapped for the new one in a single transaction. */
+    public static boolean calculateAndReplaceLatestGPA(Student student, List<Course> courses, GradingScale scale) {
+        GPAAggregator totals = GPAAggregator.of(courses);
+
+        GPAEntry newEntry = new GPAEntry(
+                0,
+                student.getStudentId(),
+                student.getFirstName(),
+                student.getLastName(),
+                totals.getGpa(),
+                totals.getTotalCredits(),
+                LocalDateTime.now(),
+                scale.getName()
+        );
+
+        boolean replaced = GPARepository.replaceLatestGpaRecord(newEntry, courses) != -1;
+        AppMetrics.gpaSaved(replaced);
+        return replaced;
+    }
 
 
-            GPAEntry newEntry = new GPAEntry(
-                    0,
-                    savedStudent.getStudentId(),
-                    savedStudent.getFirstName(),
-                    savedStudent.getLastName(),
-                    gpaValue,
-                    totalCredits,
-                    LocalDateTime.now()
-            );
+    public static synchronized GPAIngestionQueue getIngestionQueue() {
+        if (ingestionQueue == null) {
+            ingestionQueue = new GPAIngestionQueue(DatabaseService.getInstance(), INGEST_BATCH_SIZE, INGEST_LINGER_MILLIS);
+            AppMetrics.registerGauge("ingestion_queue_depth", ingestionQueue::getQueueDepth);
+        }
+        return ingestionQueue;
+    }
 
-            int entryId = GPARepository.saveFullGpaRecord(newEntry, courses);
 
-            return entryId != -1;
+    public static CompletableFuture<Integer> submitGPA(Student student, List<Course> courses) {
+        return submitGPA(student, courses, GradingScale.getDefault());
+    }
 
-        } catch (SQLException e) {
-            System.err.println("GPAService: Failed during calculation and save. Error: " + e.getMessage());
-            return false;
+    public static CompletableFuture<Integer> submitGPA(Student student, List<Course> courses, GradingScale scale) {
+        return getIngestionQueue().submit(student, courses, scale);
+    }
+
+
+    public static synchronized void shutdownIngestion() {
+        if (ingestionQueue != null) {
+            ingestionQueue.close();
+            ingestionQueue = null;
         }
     }
-}
\ No newline at end of file
+}
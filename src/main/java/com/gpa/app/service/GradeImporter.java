@@ -0,0 +1,307 @@
+package com.gpa.app.service;
+
+import com.gpa.app.db.DatabaseService;
+import com.gpa.app.model.Course;
+import com.gpa.app.model.GPAEntry;
+import com.gpa.app.model.GPARecord;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Headless bulk importer for rows of {@code first_name,last_name,course_code,course_name,credit,grade}.
+ *
+ * The file is read line by line and all rows of a student within one batch become one GPA entry,
+ * wherever they appear in it. Only that batch's courses, plus the names of students already
+ * written, are held in memory, so usage stays flat however many rows a student has. A student's
+ * rows that turn up after their entry was written are skipped and reported rather than saved as a
+ * second, partial entry; input sorted by student never hits this. Grades are converted on one
+ * {@link GradingScale}, which every imported entry records.
+ */
+public class GradeImporter {
+
+    private static final int COLUMNS = 6;
+    private static final int MAX_REPORTED_ERRORS = 20;
+
+    public static class ImportReport {
+        private final long rows;
+        private final long skippedRows;
+        private final long entries;
+        private final long elapsedNanos;
+
+        ImportReport(long rows, long skippedRows, long entries, long elapsedNanos) {
+            this.rows = rows;
+            this.skippedRows = skippedRows;
+            this.entries = entries;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public long getSkippedRows() {
+            return skippedRows;
+        }
+
+        public long getEntries() {
+            return entries;
+        }
+
+        public double getElapsedSeconds() {
+            return elapsedNanos / 1_000_000_000.0;
+        }
+
+        public double getRowsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : rows / getElapsedSeconds();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Imported %d rows into %d GPA entries in %.2fs (%.0f rows/s, %d rows skipped)",
+                    rows, entries, getElapsedSeconds(), getRowsPerSecond(), skippedRows);
+        }
+    }
+
+    private final DatabaseService db;
+    private final int batchSize;
+    private final GradingScale scale;
+
+    public GradeImporter(DatabaseService db, int batchSize) {
+        this(db, batchSize, GradingScale.getDefault());
+    }
+
+    public GradeImporter(DatabaseService db, int batchSize, GradingScale scale) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1, got " + batchSize);
+        }
+        this.db = db;
+        this.batchSize = batchSize;
+        this.scale = scale;
+    }
+
+
+    public ImportReport importCsv(Path file) throws IOException, SQLException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importCsv(reader);
+        }
+    }
+
+
+    public ImportReport importCsv(Reader source) throws IOException, SQLException {
+        long start = System.nanoTime();
+        long[] written = new long[1];
+
+        ImportReport parsed = read(source, batchSize, batch -> written[0] += db.saveGpaRecords(batch).length,
+                (lineNumber, message) -> System.err.println("GradeImporter: skipping line " + lineNumber + ": " + message));
+
+        return new ImportReport(parsed.getRows(), parsed.getSkippedRows(), written[0], System.nanoTime() - start);
+    }
+
+
+    /**
+     * Parses rows into records without saving them, for callers that write through their own path
+     * (e.g. the ingestion queue). Rejected rows are reported to {@code errors} as "line N: reason".
+     */
+    public List<GPARecord> parseCsv(Reader source, List<String> errors) throws IOException {
+        List<GPARecord> records = new ArrayList<>();
+        try {
+            read(source, Integer.MAX_VALUE, records::addAll, (lineNumber, message) -> errors.add("line " + lineNumber + ": " + message));
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return records;
+    }
+
+
+    @FunctionalInterface
+    private interface BatchSink {
+        void accept(List<GPARecord> batch) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface SkipListener {
+        void skipped(long lineNumber, String message);
+    }
+
+    private static final class StudentRows {
+        final String firstName;
+        final String lastName;
+        final List<Course> courses = new ArrayList<>();
+
+        StudentRows(String firstName, String lastName) {
+            this.firstName = firstName;
+            this.lastName = lastName;
+        }
+    }
+
+    // Groups each student's rows into one record per batch of up to batchStudents students; the
+    // report's entry count is the number of records produced.
+    private ImportReport read(Reader source, int batchStudents, BatchSink sink, SkipListener onSkip) throws IOException, SQLException {
+        BufferedReader reader = source instanceof BufferedReader ? (BufferedReader) source : new BufferedReader(source);
+
+        Map<String, StudentRows> pending = new LinkedHashMap<>();
+        Set<String> written = new HashSet<>();
+
+        long lineNumber = 0;
+        long rows = 0;
+        long skipped = 0;
+        long entries = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            String[] fields = splitCsvLine(line);
+            if (lineNumber == 1 && isHeader(fields)) {
+                continue;
+            }
+
+            Course course;
+            String key = null;
+            try {
+                course = parseCourse(fields);
+                key = fields[0].trim() + '\u0000' + fields[1].trim();
+                if (written.contains(key)) {
+                    throw new IllegalArgumentException(fields[0].trim() + " " + fields[1].trim()
+                            + " was already saved from an earlier batch; sort the file by student");
+                }
+            } catch (IllegalArgumentException e) {
+                skipped++;
+                if (skipped <= MAX_REPORTED_ERRORS) {
+                    onSkip.skipped(lineNumber, e.getMessage());
+                }
+                continue;
+            }
+            rows++;
+
+            StudentRows student = pending.get(key);
+            if (student == null) {
+                if (pending.size() >= batchStudents) {
+                    entries += flush(pending, written, sink);
+                }
+                student = new StudentRows(fields[0].trim(), fields[1].trim());
+                pending.put(key, student);
+            }
+            student.courses.add(course);
+        }
+
+        entries += flush(pending, written, sink);
+        return new ImportReport(rows, skipped, entries, 0);
+    }
+
+    private int flush(Map<String, StudentRows> pending, Set<String> written, BatchSink sink) throws SQLException {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        List<GPARecord> batch = new ArrayList<>(pending.size());
+        for (StudentRows student : pending.values()) {
+            batch.add(toRecord(student.firstName, student.lastName, student.courses));
+        }
+        sink.accept(batch);
+        written.addAll(pending.keySet());
+        pending.clear();
+        return batch.size();
+    }
+
+    private GPARecord toRecord(String firstName, String lastName, List<Course> courses) {
+        GPAAggregator totals = GPAAggregator.of(courses);
+        GPAEntry entry = new GPAEntry(0, 0, firstName, lastName, totals.getGpa(), totals.getTotalCredits(),
+                LocalDateTime.now(), scale.getName());
+        return new GPARecord(entry, courses);
+    }
+
+    private Course parseCourse(String[] fields) {
+        if (fields.length < COLUMNS) {
+            throw new IllegalArgumentException("expected " + COLUMNS + " columns, found " + fields.length);
+        }
+        if (fields[0].isBlank() || fields[1].isBlank() || fields[3].isBlank() || fields[5].isBlank()) {
+            throw new IllegalArgumentException("first_name, last_name, course_name and grade are required");
+        }
+
+        double credit;
+        try {
+            credit = Double.parseDouble(fields[4].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("credit '" + fields[4] + "' is not a number");
+        }
+        // parseDouble also accepts "NaN" and "Infinity", which would only fail later at insert.
+        if (!Double.isFinite(credit) || credit <= 0.0) {
+            throw new IllegalArgumentException("credit '" + fields[4].trim() + "' must be a positive number");
+        }
+
+        String grade = fields[5].trim();
+        if (!scale.isGrade(grade)) {
+            throw new IllegalArgumentException("grade '" + grade + "' is not on the " + scale.getName() + " scale");
+        }
+        return new Course(fields[3].trim(), fields[2].trim(), credit, null, null, grade, scale.pointFor(grade));
+    }
+
+    private static boolean isHeader(String[] fields) {
+        return fields.length >= COLUMNS && fields[4].trim().equalsIgnoreCase("credit");
+    }
+
+
+    // RFC 4180 style: commas separate fields, double quotes wrap fields and "" escapes a quote.
+    static String[] splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>(COLUMNS);
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields.toArray(new String[0]);
+    }
+
+
+    public static void main(String[] args) throws IOException, SQLException {
+        if (args.length < 1) {
+            System.err.println("Usage: GradeImporter <file.csv> [batchSize] [gradingScale]");
+            return;
+        }
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        GradingScale scale = args.length > 2 ? GradingScale.forName(args[2]) : GradingScale.getDefault();
+
+        GradeImporter importer = new GradeImporter(DatabaseService.getInstance(), batchSize, scale);
+        try {
+            System.out.println(importer.importCsv(Path.of(args[0])));
+        } finally {
+            DatabaseService.shutdown();
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package com.gpa.app.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+
+/**
+ * A named grade-to-point scale, compiled into flat lookup tables so {@link #pointFor(CharSequence)}
+ * reads characters in place and never allocates.
+ *
+ * Letter grades of one or two letters with an optional {@code +}/{@code -} (e.g. "A-", "O", "AB")
+ * index a table by (letter, letter, modifier), case-insensitively. Numeric grades such as
+ * percentages index a table of 101 bands by their whole part. Unknown grades convert to 0.0.
+ *
+ * Scales are defined in {@code grading-scales.properties} next to this app's FXML; a file named by
+ * {@code -Dgpa.grading.scales} is read afterwards and may add scales or redefine existing ones.
+ */
+public final class GradingScale {
+
+    public static final String CONFIG_PROPERTY = "gpa.grading.scales";
+    private static final String BUNDLED_CONFIG = "/com/gpa/app/grading-scales.properties";
+
+    private static final int LETTERS = 26;
+    private static final int MODIFIERS = 3;
+    private static final int MAX_PERCENT = 100;
+
+    private static volatile Registry registry;
+
+    private final String name;
+    private final String description;
+    private final String[] grades;
+    private final double maxPoint;
+
+    // NaN marks a slot that is not a grade of this scale.
+    private final double[] letterTable = new double[LETTERS * (LETTERS + 1) * MODIFIERS];
+    private final double[] bandTable = new double[MAX_PERCENT + 1];
+
+    private GradingScale(String name, String description, Map<String, Double> letterGrades, Map<Integer, Double> bands) {
+        this.name = name;
+        this.description = description;
+        Arrays.fill(letterTable, Double.NaN);
+        Arrays.fill(bandTable, Double.NaN);
+
+        List<String> gradeList = new ArrayList<>();
+        double max = 0.0;
+
+        for (Map.Entry<String, Double> grade : letterGrades.entrySet()) {
+            int slot = letterSlot(grade.getKey(), 0, grade.getKey().length());
+            if (slot < 0) {
+                throw new IllegalArgumentException("Scale " + name + ": '" + grade.getKey() + "' is not a letter grade");
+            }
+            letterTable[slot] = grade.getValue();
+            gradeList.add(grade.getKey().toUpperCase(Locale.ROOT));
+            max = Math.max(max, grade.getValue());
+        }
+
+        // Each band covers its lower bound up to the next higher band's lower bound.
+        List<Integer> lowerBounds = new ArrayList<>(bands.keySet());
+        Collections.sort(lowerBounds);
+        for (int i = 0; i < lowerBounds.size(); i++) {
+            int from = lowerBounds.get(i);
+            int to = i + 1 < lowerBounds.size() ? lowerBounds.get(i + 1) : MAX_PERCENT + 1;
+            if (from < 0 || from > MAX_PERCENT) {
+                throw new IllegalArgumentException("Scale " + name + ": band " + from + " is outside 0-" + MAX_PERCENT);
+            }
+            Arrays.fill(bandTable, from, to, bands.get(from));
+            max = Math.max(max, bands.get(from));
+        }
+        for (int i = lowerBounds.size() - 1; i >= 0; i--) {
+            gradeList.add(String.valueOf(lowerBounds.get(i)));
+        }
+
+        this.grades = gradeList.toArray(new String[0]);
+        this.maxPoint = max;
+    }
+
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /** Grades to offer for input, best first: the letter grades, then the lower bound of each band. */
+    public String[] getGrades() {
+        return grades.clone();
+    }
+
+    public double getMaxPoint() {
+        return maxPoint;
+    }
+
+
+    public double pointFor(CharSequence grade) {
+        double point = lookup(grade);
+        return Double.isNaN(point) ? 0.0 : point;
+    }
+
+    public boolean isGrade(CharSequence grade) {
+        return !Double.isNaN(lookup(grade));
+    }
+
+    private double lookup(CharSequence grade) {
+        if (grade == null) {
+            return Double.NaN;
+        }
+        int from = 0;
+        int to = grade.length();
+        while (from < to && grade.charAt(from) <= ' ') {
+            from++;
+        }
+        while (to > from && grade.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        if (from == to) {
+            return Double.NaN;
+        }
+
+        char first = grade.charAt(from);
+        if (first >= '0' && first <= '9') {
+            int band = wholePercent(grade, from, to);
+            return band < 0 ? Double.NaN : bandTable[band];
+        }
+        int slot = letterSlot(grade, from, to);
+        return slot < 0 ? Double.NaN : letterTable[slot];
+    }
+
+    // Slot for [A-Za-z][A-Za-z]?[+-]?, or -1.
+    private static int letterSlot(CharSequence grade, int from, int to) {
+        int first = letterIndex(grade.charAt(from));
+        if (first < 0) {
+            return -1;
+        }
+        int i = from + 1;
+        int second = 0;
+        if (i < to && letterIndex(grade.charAt(i)) >= 0) {
+            second = letterIndex(grade.charAt(i)) + 1;
+            i++;
+        }
+        int modifier = 0;
+        if (i < to) {
+            char c = grade.charAt(i);
+            modifier = c == '+' ? 1 : c == '-' ? 2 : -1;
+            i++;
+        }
+        if (modifier < 0 || i != to) {
+            return -1;
+        }
+        return (first * (LETTERS + 1) + second) * MODIFIERS + modifier;
+    }
+
+    private static int letterIndex(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a';
+        }
+        return -1;
+    }
+
+    // Whole part of a non-negative decimal such as "79.5", or -1 if malformed or above 100.
+    private static int wholePercent(CharSequence grade, int from, int to) {
+        int value = 0;
+        int i = from;
+        for (; i < to && grade.charAt(i) != '.'; i++) {
+            char c = grade.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+            if (value > MAX_PERCENT) {
+                return -1;
+            }
+        }
+        for (i++; i < to; i++) {
+            char c = grade.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+
+    public static GradingScale getDefault() {
+        return registry().defaultScale;
+    }
+
+    /** @throws IllegalArgumentException if no scale with that name is configured */
+    public static GradingScale forName(String name) {
+        GradingScale scale = registry().scales.get(name);
+        if (scale == null) {
+            throw new IllegalArgumentException("Unknown grading scale '" + name + "'; configured: " + registry().scales.keySet());
+        }
+        return scale;
+    }
+
+    public static List<GradingScale> getAvailableScales() {
+        return List.copyOf(registry().scales.values());
+    }
+
+    /** Drops the loaded scales so the next lookup re-reads the configuration. */
+    public static synchronized void reload() {
+        registry = null;
+    }
+
+    private static Registry registry() {
+        Registry current = registry;
+        if (current != null) {
+            return current;
+        }
+        synchronized (GradingScale.class) {
+            if (registry == null) {
+                registry = loadRegistry();
+            }
+            return registry;
+        }
+    }
+
+
+    private static final class Registry {
+        final Map<String, GradingScale> scales;
+        final GradingScale defaultScale;
+
+        Registry(Map<String, GradingScale> scales, GradingScale defaultScale) {
+            this.scales = scales;
+            this.defaultScale = defaultScale;
+        }
+    }
+
+    /*
+     * Format, one scale per prefix:
+     *   scales = UGC-4.0, PERCENT-4.0
+     *   default = UGC-4.0
+     *   UGC-4.0.description = ...
+     *   UGC-4.0.grades = A+:4.00, A:3.75, ...
+     *   PERCENT-4.0.bands = 80:4.00, 75:3.75, ..., 0:0.00
+     */
+    private static Registry loadRegistry() {
+        Properties config = new Properties();
+        try (InputStream in = GradingScale.class.getResourceAsStream(BUNDLED_CONFIG)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing " + BUNDLED_CONFIG);
+            }
+            config.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read " + BUNDLED_CONFIG + ": " + e.getMessage(), e);
+        }
+
+        String external = System.getProperty(CONFIG_PROPERTY);
+        if (external != null) {
+            Properties overrides = new Properties();
+            try (Reader reader = Files.newBufferedReader(Path.of(external), StandardCharsets.UTF_8)) {
+                overrides.load(reader);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not read grading scales from " + external + ": " + e.getMessage(), e);
+            }
+            String extraScales = overrides.getProperty("scales");
+            if (extraScales != null) {
+                overrides.setProperty("scales", config.getProperty("scales", "") + "," + extraScales);
+            }
+            config.putAll(overrides);
+        }
+
+        Map<String, GradingScale> scales = new LinkedHashMap<>();
+        for (String name : config.getProperty("scales", "").split(",")) {
+            name = name.trim();
+            if (name.isEmpty() || scales.containsKey(name)) {
+                continue;
+            }
+            Map<String, Double> letterGrades = new LinkedHashMap<>();
+            for (String[] pair : pairs(config.getProperty(name + ".grades"), name)) {
+                letterGrades.put(pair[0], Double.parseDouble(pair[1]));
+            }
+            Map<Integer, Double> bands = new LinkedHashMap<>();
+            for (String[] pair : pairs(config.getProperty(name + ".bands"), name)) {
+                bands.put(Integer.parseInt(pair[0]), Double.parseDouble(pair[1]));
+            }
+            scales.put(name, new GradingScale(name, config.getProperty(name + ".description", name), letterGrades, bands));
+        }
+
+        String defaultName = config.getProperty("default", "").trim();
+        GradingScale defaultScale = scales.get(defaultName);
+        if (defaultScale == null) {
+            throw new IllegalStateException("Default grading scale '" + defaultName + "' is not configured; configured: " + scales.keySet());
+        }
+        return new Registry(Collections.unmodifiableMap(scales), defaultScale);
+    }
+
+    private static List<String[]> pairs(String value, String scaleName) {
+        List<String[]> pairs = new ArrayList<>();
+        if (value == null || value.isBlank()) {
+            return pairs;
+        }
+        for (String item : value.split(",")) {
+            String[] pair = item.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalStateException("Scale " + scaleName + ": expected grade:point but found '" + item.trim() + "'");
+            }
+            pairs.add(new String[]{pair[0].trim(), pair[1].trim()});
+        }
+        return pairs;
+    }
+}
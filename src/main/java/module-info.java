@@ -1,23 +1,17 @@
 module com.gpa.app {
     requires javafx.controls;
     requires javafx.fxml;
-    requires javafx.web;
-
-    requires org.controlsfx.controls;
-    requires com.dlsc.formsfx;
-    requires net.synedra.validatorfx;
-    requires org.kordamp.ikonli.javafx;
-    requires org.kordamp.bootstrapfx.core;
-    requires eu.hansolo.tilesfx;
-    requires com.almasb.fxgl.all;
     requires javafx.base;
     requires javafx.graphics;
     requires java.sql;
-    requires java.desktop;
+    requires jdk.httpserver;
+    requires java.management;
 
     opens com.gpa.app to javafx.fxml;
     opens com.gpa.app.model to javafx.base;
     exports com.gpa.app;
     exports com.gpa.app.controller;
+    // MXBean interfaces must be visible to java.management.
+    exports com.gpa.app.metrics;
     opens com.gpa.app.controller to javafx.fxml;
 }
\ No newline at end of file
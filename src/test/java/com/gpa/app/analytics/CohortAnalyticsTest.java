@@ -0,0 +1,97 @@
+package com.gpa.app.analytics;
+
+import com.gpa.app.db.DatabaseService;
+import com.gpa.app.metrics.AppMetrics;
+import com.gpa.app.metrics.OperationStats;
+import com.gpa.app.model.GPAEntry;
+import com.gpa.app.model.GPARecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class CohortAnalyticsTest {
+
+    @TempDir
+    Path dir;
+
+    private DatabaseService db;
+    private CohortAnalytics analytics;
+
+    @BeforeEach
+    void open() throws SQLException {
+        db = DatabaseService.open("jdbc:sqlite:" + dir.resolve("cohort.db"));
+        analytics = CohortAnalytics.attach(db);
+        save("Ada", "Lovelace", 3.9);
+        save("Alan", "Turing", 2.6);
+    }
+
+    @AfterEach
+    void close() {
+        analytics.detach();
+        db.close();
+    }
+
+    private int save(String firstName, String lastName, double gpa) throws SQLException {
+        int studentId = db.saveOrGetStudent(firstName, lastName).getStudentId();
+        return db.saveGpaEntry(new GPAEntry(0, studentId, firstName, lastName, gpa, 3.0, LocalDateTime.now(), "UGC-4.0"), List.of());
+    }
+
+    @Test
+    void loadIsTimedThroughAppMetrics() throws SQLException {
+        OperationStats before = AppMetrics.analytics().get("load");
+        long loads = before == null ? 0 : before.getCount();
+
+        analytics.load();
+        analytics.load();
+        assertEquals(loads + 1, AppMetrics.analytics().get("load").getCount());
+    }
+
+    @Test
+    void lateSaveEventForAnEntryAlreadyLoadedIsIgnored() throws SQLException {
+        int ada = db.saveOrGetStudent("Ada", "Lovelace").getStudentId();
+        GPARecord loaded = db.getLatestEntryWithCourses(ada);
+        analytics.load();
+
+        // As if the save had committed before the load read the tables but was delivered after it.
+        analytics.entrySaved(loaded);
+        assertEquals(2, analytics.getEntryCount());
+        assertEquals(2, analytics.getGpaHistogram(0.5).getTotal());
+
+        save("Ada", "Lovelace", 3.1);
+        assertEquals(3, analytics.getEntryCount());
+        assertEquals(2, analytics.getGpaHistogram(0.5).getTotal());
+    }
+
+    @Test
+    void histogramCountsLatestGpas() throws SQLException {
+        GPAHistogram histogram = analytics.getGpaHistogram(0.5);
+        assertEquals(8, histogram.getBinCount());
+        assertEquals(2, histogram.getTotal());
+        assertEquals(1, histogram.getCount(5));
+        assertEquals(1, histogram.getCount(7));
+    }
+
+    @Test
+    void histogramRejectsTooManyBins() throws SQLException {
+        assertEquals(CohortAnalytics.MAX_HISTOGRAM_BINS, analytics.getGpaHistogram(3.9 / 999.5).getBinCount());
+        assertThrows(IllegalArgumentException.class, () -> analytics.getGpaHistogram(1e-7));
+        assertThrows(IllegalArgumentException.class, () -> analytics.getGpaHistogram(1e-12));
+        assertThrows(IllegalArgumentException.class, () -> analytics.getGpaHistogram(Double.MIN_VALUE));
+    }
+
+    @Test
+    void histogramRejectsNonFiniteWidths() {
+        assertThrows(IllegalArgumentException.class, () -> analytics.getGpaHistogram(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> analytics.getGpaHistogram(Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class, () -> analytics.getGpaHistogram(0.0));
+    }
+}
@@ -0,0 +1,99 @@
+package com.gpa.app.db;
+
+import com.gpa.app.model.GPAEntry;
+import com.gpa.app.model.GPARecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class ChangeListenerTest {
+
+    @TempDir
+    Path dir;
+
+    private DatabaseService db;
+    private int ada;
+
+    @BeforeEach
+    void open() throws SQLException {
+        db = DatabaseService.open("jdbc:sqlite:" + dir.resolve("listener.db"));
+        ada = db.saveOrGetStudent("Ada", "Lovelace").getStudentId();
+    }
+
+    @AfterEach
+    void close() {
+        db.close();
+    }
+
+    private int save() throws SQLException {
+        return db.saveGpaEntry(new GPAEntry(0, ada, "Ada", "Lovelace", 3.5, 3.0, LocalDateTime.now(), "UGC-4.0"), List.of());
+    }
+
+    @Test
+    void slowListenerDoesNotHoldTheWriter() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> seen = new CopyOnWriteArrayList<>();
+        db.addChangeListener(new GPAChangeListener() {
+            @Override
+            public void entrySaved(GPARecord record) {
+                if (seen.isEmpty()) {
+                    entered.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                seen.add(record.getEntry().getEntryId());
+            }
+
+            @Override
+            public void entryDeleted(int entryId) {
+                seen.add(-entryId);
+            }
+        });
+
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return save();
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // The first listener call is still blocked, yet another write commits.
+        CompletableFuture<Boolean> second = CompletableFuture.supplyAsync(() -> {
+            try {
+                return db.deleteLatestGpaEntryByStudentId(ada);
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!db.getAllGpaEntries().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(db.getAllGpaEntries().isEmpty());
+        assertFalse(second.isDone());
+
+        release.countDown();
+        int entryId = first.get(5, TimeUnit.SECONDS);
+        assertTrue(second.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(entryId, -entryId), seen);
+    }
+}
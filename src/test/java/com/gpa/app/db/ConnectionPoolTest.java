@@ -0,0 +1,89 @@
+package com.gpa.app.db;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class ConnectionPoolTest {
+
+    @TempDir
+    Path dir;
+
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void openPool() throws SQLException {
+        pool = new ConnectionPool("jdbc:sqlite:" + dir.resolve("pool.db"), 2, 200, StorageProfile.LEGACY);
+    }
+
+    @AfterEach
+    void closePool() {
+        pool.close();
+    }
+
+    @Test
+    void closingAReaderTwiceReturnsItOnce() throws SQLException {
+        ConnectionPool.PooledConnection reader = pool.acquireReader();
+        assertEquals(1, pool.getIdleReaders());
+
+        reader.close();
+        reader.close();
+        assertEquals(2, pool.getIdleReaders());
+
+        ConnectionPool.PooledConnection first = pool.acquireReader();
+        ConnectionPool.PooledConnection second = pool.acquireReader();
+        assertNotSame(first.getConnection(), second.getConnection());
+        assertThrows(SQLTimeoutException.class, pool::acquireReader);
+        first.close();
+        second.close();
+    }
+
+    @Test
+    void closingTheWriterTwiceReleasesItOnce() throws SQLException {
+        ConnectionPool.PooledConnection writer = pool.acquireWriter();
+        writer.close();
+        writer.close();
+
+        ConnectionPool.PooledConnection next = pool.acquireWriter();
+        assertThrows(SQLTimeoutException.class, pool::acquireWriter);
+        next.close();
+    }
+
+    @Test
+    void staleLeaseDoesNotReleaseTheNextHolder() throws SQLException {
+        ConnectionPool.PooledConnection stale = pool.acquireWriter();
+        stale.close();
+        ConnectionPool.PooledConnection current = pool.acquireWriter();
+
+        stale.close();
+        assertThrows(SQLTimeoutException.class, pool::acquireWriter);
+        assertThrows(SQLException.class, () -> stale.prepare("SELECT 1"));
+        current.close();
+    }
+
+    @Test
+    void leaseReturnedMidTransactionIsRolledBack() throws SQLException {
+        try (ConnectionPool.PooledConnection conn = pool.acquireWriter()) {
+            conn.prepare("CREATE TABLE t (x INTEGER)").executeUpdate();
+        }
+        try (ConnectionPool.PooledConnection conn = pool.acquireWriter()) {
+            conn.beginTransaction();
+            conn.prepare("INSERT INTO t VALUES (1)").executeUpdate();
+        }
+        try (ConnectionPool.PooledConnection conn = pool.acquireWriter()) {
+            assertTrue(conn.getConnection().getAutoCommit());
+            try (var rs = conn.prepare("SELECT COUNT(*) FROM t").executeQuery()) {
+                assertTrue(rs.next());
+                assertEquals(0, rs.getInt(1));
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.gpa.app.db;
+
+import com.gpa.app.model.GPAEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class EntryDateRangeTest {
+
+    private static final LocalDateTime JAN = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime FEB = LocalDateTime.of(2025, 2, 1, 0, 0);
+    private static final LocalDateTime MAR = LocalDateTime.of(2025, 3, 1, 0, 0);
+
+    @TempDir
+    Path dir;
+
+    private DatabaseService db;
+    private int ada;
+
+    @BeforeEach
+    void open() throws SQLException {
+        db = DatabaseService.open("jdbc:sqlite:" + dir.resolve("range.db"));
+        ada = db.saveOrGetStudent("Ada", "Lovelace").getStudentId();
+        int alan = db.saveOrGetStudent("Alan", "Turing").getStudentId();
+        for (LocalDateTime date : List.of(JAN, FEB, MAR)) {
+            db.saveGpaEntry(new GPAEntry(0, ada, "Ada", "Lovelace", date.getMonthValue(), 3.0, date, "UGC-4.0"), List.of());
+            db.saveGpaEntry(new GPAEntry(0, alan, "Alan", "Turing", date.getMonthValue(), 3.0, date, "UGC-4.0"), List.of());
+        }
+    }
+
+    @AfterEach
+    void close() {
+        db.close();
+    }
+
+    private static List<Integer> months(List<GPAEntry> entries) {
+        return entries.stream().map(e -> e.getDate().getMonthValue()).collect(Collectors.toList());
+    }
+
+    @Test
+    void rangesIncludeFromAndExcludeTo() throws SQLException {
+        assertEquals(List.of(2, 2, 1, 1), months(db.getEntriesBetween(JAN, MAR)));
+        assertEquals(List.of(2, 1), months(db.getEntriesForStudentBetween(ada, JAN, MAR)));
+    }
+
+    @Test
+    void nullBoundsAreOpen() throws SQLException {
+        assertEquals(List.of(1, 1), months(db.getEntriesBetween(null, FEB)));
+        assertEquals(List.of(3, 3, 2, 2), months(db.getEntriesBetween(FEB, null)));
+        assertEquals(6, db.getEntriesBetween(null, null).size());
+
+        assertEquals(List.of(1), months(db.getEntriesForStudentBetween(ada, null, FEB)));
+        assertEquals(List.of(3, 2), months(db.getEntriesForStudentBetween(ada, FEB, null)));
+        assertEquals(List.of(3, 2, 1), months(db.getEntriesForStudentBetween(ada, null, null)));
+    }
+
+    @Test
+    void filterUsesTheSameHalfOpenRange() throws SQLException {
+        try (Stream<GPAEntry> entries = db.streamGpaEntries(GPAEntryFilter.all().student(ada).calculatedBetween(JAN, MAR))) {
+            assertEquals(List.of(1, 2), months(entries.collect(Collectors.toList())));
+        }
+        try (Stream<GPAEntry> entries = db.streamGpaEntries(GPAEntryFilter.all().calculatedBetween(null, FEB))) {
+            assertEquals(List.of(1, 1), months(entries.collect(Collectors.toList())));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.gpa.app.db;
+
+import com.gpa.app.model.Course;
+import com.gpa.app.model.GPAEntry;
+import com.gpa.app.model.GPARecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+// Runs under the default profile, i.e. the rollback journal, where an open read blocks commits.
+class LongReadTest {
+
+    private static final int ENTRIES = 2_500;
+    private static final List<Course> COURSES = List.of(new Course("Algorithms", "CSE101", 3.0, "T1", "T2", "A", 4.0));
+
+    @TempDir
+    Path dir;
+
+    private DatabaseService db;
+    private int ada;
+
+    @BeforeEach
+    void open() throws SQLException {
+        assertFalse(StorageProfile.DEFAULT.isWal());
+        db = DatabaseService.open("jdbc:sqlite:" + dir.resolve("long.db"));
+        ada = db.saveOrGetStudent("Ada", "Lovelace").getStudentId();
+
+        List<GPARecord> records = new ArrayList<>();
+        for (int i = 0; i < ENTRIES; i++) {
+            records.add(new GPARecord(entry(), COURSES));
+        }
+        db.saveGpaRecords(records);
+    }
+
+    @AfterEach
+    void close() {
+        db.close();
+    }
+
+    private static GPAEntry entry() {
+        return new GPAEntry(0, 0, "Ada", "Lovelace", 4.0, 3.0, LocalDateTime.now(), "UGC-4.0");
+    }
+
+    @Test
+    void writeSucceedsWhileAStreamIsOpen() throws SQLException {
+        try (Stream<GPAEntry> entries = db.streamGpaEntries(GPAEntryFilter.all().student(ada))) {
+            Iterator<GPAEntry> it = entries.iterator();
+            int previous = it.next().getEntryId();
+            db.saveGpaEntry(entry(), List.of());
+
+            int seen = 1;
+            while (it.hasNext()) {
+                int entryId = it.next().getEntryId();
+                assertTrue(entryId > previous);
+                previous = entryId;
+                seen++;
+                if (seen == ENTRIES / 2) {
+                    db.deleteGpaEntry(entryId);
+                }
+            }
+            assertTrue(seen >= ENTRIES);
+        }
+    }
+
+    @Test
+    void writeSucceedsDuringARecordPass() throws SQLException {
+        int[] seen = new int[1];
+        db.forEachGpaRecord(record -> {
+            assertEquals(1, record.getCourses().size());
+            if (seen[0]++ == 10) {
+                try {
+                    db.saveGpaEntry(entry(), COURSES);
+                } catch (SQLException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+        // Pages after the save include it.
+        assertEquals(ENTRIES + 1, seen[0]);
+    }
+}
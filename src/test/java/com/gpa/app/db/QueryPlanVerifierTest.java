@@ -0,0 +1,49 @@
+package com.gpa.app.db;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class QueryPlanVerifierTest {
+
+    @TempDir
+    Path dir;
+
+    private Connection conn;
+
+    @BeforeEach
+    void migrate() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:sqlite:" + dir.resolve("plans.db"));
+        SchemaMigrator.migrate(conn);
+    }
+
+    @AfterEach
+    void close() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    void everyIndexedQueryUsesAnIndex() throws SQLException {
+        assertEquals(List.of(), QueryPlanVerifier.findViolations(conn));
+    }
+
+    @Test
+    void droppedIndexIsReported() throws SQLException {
+        try (var stmt = conn.createStatement()) {
+            stmt.execute("DROP INDEX idx_courses_course_key");
+        }
+        List<String> violations = QueryPlanVerifier.findViolations(conn);
+        assertFalse(violations.isEmpty());
+        assertTrue(violations.stream().allMatch(v -> v.contains("Courses")), violations::toString);
+    }
+}
@@ -0,0 +1,46 @@
+package com.gpa.app.db;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class SchemaMigratorTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void migratesAnEmptyDatabaseOnceAndKeepsData() throws SQLException {
+        String url = "jdbc:sqlite:" + dir.resolve("migrate.db");
+        int latest;
+        try (Connection conn = DriverManager.getConnection(url)) {
+            int applied = SchemaMigrator.migrate(conn);
+            latest = SchemaMigrator.currentVersion(conn);
+            assertTrue(applied > 0);
+            assertEquals(applied, latest);
+
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("INSERT INTO Students (first_name, last_name) VALUES ('Ada', 'Lovelace')");
+            }
+        }
+
+        try (Connection conn = DriverManager.getConnection(url)) {
+            assertEquals(0, SchemaMigrator.migrate(conn));
+            assertEquals(latest, SchemaMigrator.currentVersion(conn));
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM Students")) {
+                assertTrue(rs.next());
+                assertEquals(1, rs.getInt(1));
+            }
+        }
+    }
+}
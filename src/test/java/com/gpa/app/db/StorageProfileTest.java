@@ -0,0 +1,47 @@
+package com.gpa.app.db;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class StorageProfileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void defaultKeepsTheRollbackJournal() {
+        assertEquals(StorageProfile.LEGACY, StorageProfile.DEFAULT);
+        assertEquals(StorageProfile.LEGACY, StorageProfile.fromName(null));
+        assertEquals(StorageProfile.LEGACY, StorageProfile.fromName(" "));
+        assertEquals(StorageProfile.BALANCED, StorageProfile.fromName(" balanced "));
+        assertThrows(IllegalArgumentException.class, () -> StorageProfile.fromName("turbo"));
+    }
+
+    @Test
+    void reopeningWithLegacyLeavesWal() throws SQLException {
+        String url = "jdbc:sqlite:" + dir.resolve("profile.db");
+        try (ConnectionPool pool = new ConnectionPool(url, 1, 1000, StorageProfile.BALANCED)) {
+            assertEquals("wal", journalMode(pool));
+        }
+        try (ConnectionPool pool = new ConnectionPool(url, 1, 1000, StorageProfile.DEFAULT)) {
+            assertEquals("delete", journalMode(pool));
+        }
+    }
+
+    private static String journalMode(ConnectionPool pool) throws SQLException {
+        try (ConnectionPool.PooledConnection conn = pool.acquireReader();
+             Statement stmt = conn.getConnection().createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA journal_mode")) {
+            assertTrue(rs.next());
+            return rs.getString(1);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.gpa.app.db;
+
+import com.gpa.app.model.GPAEntry;
+import com.gpa.app.model.GPARecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+// Two services on one file stand in for the GUI and the headless server running side by side.
+class StudentCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private DatabaseService gui;
+    private DatabaseService server;
+
+    @BeforeEach
+    void open() throws SQLException {
+        String url = "jdbc:sqlite:" + dir.resolve("shared.db");
+        gui = DatabaseService.open(url);
+        server = DatabaseService.open(url);
+    }
+
+    @AfterEach
+    void close() {
+        gui.close();
+        server.close();
+    }
+
+    private static GPAEntry entryFor(int studentId) {
+        return new GPAEntry(0, studentId, "Ada", "Lovelace", 3.5, 3.0, LocalDateTime.now(), "UGC-4.0");
+    }
+
+    private int deleteAdaElsewhere() throws SQLException {
+        int cachedId = gui.saveOrGetStudent("Ada", "Lovelace").getStudentId();
+        assertTrue(server.deleteStudent(cachedId));
+        return cachedId;
+    }
+
+    @Test
+    void saveAfterStudentDeletedElsewhereRecreatesIt() throws SQLException {
+        int staleId = deleteAdaElsewhere();
+
+        int entryId = gui.saveGpaEntry(entryFor(gui.saveOrGetStudent("Ada", "Lovelace").getStudentId()), List.of());
+        int freshId = server.saveOrGetStudent("Ada", "Lovelace").getStudentId();
+        assertNotEquals(staleId, freshId);
+        assertEquals(List.of(entryId), server.getEntriesForStudent(freshId).stream().map(GPAEntry::getEntryId).collect(Collectors.toList()));
+        assertEquals(freshId, gui.saveOrGetStudent("Ada", "Lovelace").getStudentId());
+    }
+
+    @Test
+    void replaceAfterStudentDeletedElsewhereRecreatesIt() throws SQLException {
+        int staleId = deleteAdaElsewhere();
+
+        gui.replaceLatestGpaEntry(entryFor(staleId), List.of());
+        int freshId = server.saveOrGetStudent("Ada", "Lovelace").getStudentId();
+        assertEquals(1, server.getEntriesForStudent(freshId).size());
+    }
+
+    @Test
+    void batchAfterStudentDeletedElsewhereRecreatesIt() throws SQLException {
+        deleteAdaElsewhere();
+
+        int[] entryIds = gui.saveGpaRecords(List.of(new GPARecord(entryFor(0), List.of()), new GPARecord(entryFor(0), List.of())));
+        int freshId = server.saveOrGetStudent("Ada", "Lovelace").getStudentId();
+        assertEquals(2, entryIds.length);
+        assertEquals(2, server.getEntriesForStudent(freshId).size());
+    }
+}
@@ -0,0 +1,96 @@
+package com.gpa.app.db;
+
+import com.gpa.app.model.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class StudentPagingTest {
+
+    private static final String MAX = new String(Character.toChars(Character.MAX_CODE_POINT));
+
+    @TempDir
+    Path dir;
+
+    private DatabaseService db;
+
+    @BeforeEach
+    void open() {
+        db = DatabaseService.open("jdbc:sqlite:" + dir.resolve("students.db"));
+    }
+
+    @AfterEach
+    void close() {
+        db.close();
+    }
+
+    private List<String> search(String prefix, int pageSize) throws SQLException {
+        List<String> names = new ArrayList<>();
+        Student after = null;
+        List<Student> page;
+        do {
+            page = db.getStudentsPage(prefix, after, pageSize);
+            for (Student s : page) {
+                names.add(s.getFirstName() + " " + s.getLastName());
+            }
+            after = page.isEmpty() ? null : page.get(page.size() - 1);
+        } while (page.size() == pageSize);
+        return names;
+    }
+
+    @Test
+    void upperBoundStepsTheLastCodePoint() {
+        assertEquals("Ac", DatabaseService.prefixUpperBound("Ab"));
+        assertEquals("A\uE000", DatabaseService.prefixUpperBound("A\uD7FF"));
+        assertEquals("A" + new String(Character.toChars(0x10000)), DatabaseService.prefixUpperBound("A\uFFFF"));
+        assertEquals("B", DatabaseService.prefixUpperBound("A" + MAX + MAX));
+        assertNull(DatabaseService.prefixUpperBound(MAX));
+    }
+
+    @Test
+    void pagesThroughPrefixMatchesOnly() throws SQLException {
+        for (String first : List.of("Ab", "Abe", "Abby", "Ac", "Aa", "B")) {
+            for (int i = 0; i < 3; i++) {
+                db.saveOrGetStudent(first, "L" + i);
+            }
+        }
+        assertEquals(List.of("Ab L0", "Ab L1", "Ab L2", "Abby L0", "Abby L1", "Abby L2", "Abe L0", "Abe L1", "Abe L2"),
+                search("Ab", 2));
+        assertEquals(18, search("", 4).size());
+    }
+
+    @Test
+    void searchIgnoresCaseAndCoversTheWholeName() throws SQLException {
+        db.saveOrGetStudent("Alice", "Smith");
+        db.saveOrGetStudent("alina", "Jones");
+        db.saveOrGetStudent("ALI", "Khan");
+        db.saveOrGetStudent("Bob", "Alison");
+        db.saveOrGetStudent("Alice", "Sharp");
+
+        assertEquals(List.of("ALI Khan", "Alice Sharp", "Alice Smith", "alina Jones"), search("ali", 1));
+        assertEquals(List.of("ALI Khan", "Alice Sharp", "Alice Smith", "alina Jones"), search("ALI", 3));
+        assertEquals(List.of("Alice Smith"), search("aLiCe SM", 2));
+        assertEquals(List.of("Bob Alison"), search("bob a", 2));
+    }
+
+    @Test
+    void prefixEndingInTheHighestCharactersStillMatches() throws SQLException {
+        db.saveOrGetStudent("Z\uFFFF", "One");
+        db.saveOrGetStudent("Z\uFFFFx", "Two");
+        db.saveOrGetStudent("Z" + new String(Character.toChars(0x1F600)), "Three");
+        db.saveOrGetStudent(MAX, "Four");
+        db.saveOrGetStudent(MAX + "a", "Five");
+
+        assertEquals(List.of("Z\uFFFF One", "Z\uFFFFx Two"), search("Z\uFFFF", 10));
+        assertEquals(List.of(MAX + " Four", MAX + "a Five"), search(MAX, 1));
+    }
+}
@@ -0,0 +1,80 @@
+package com.gpa.app.service;
+
+import com.gpa.app.db.DatabaseService;
+import com.gpa.app.model.Course;
+import com.gpa.app.model.GPAEntry;
+import com.gpa.app.model.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class GPAIngestionQueueTest {
+
+    @TempDir
+    Path dir;
+
+    private DatabaseService db;
+    private GPAIngestionQueue queue;
+
+    @BeforeEach
+    void open() {
+        db = DatabaseService.open("jdbc:sqlite:" + dir.resolve("ingest.db"));
+        queue = new GPAIngestionQueue(db, 16, 5);
+    }
+
+    @AfterEach
+    void close() {
+        queue.close();
+        db.close();
+    }
+
+    private static List<Course> courses() {
+        return List.of(
+                new Course("Algorithms", "CSE-201", 3.0, "T1", null, "A", 4.0),
+                new Course("Databases", "CSE-305", 1.5, "T2", null, "B", 3.0));
+    }
+
+    @Test
+    void stampsTheGivenScale() throws SQLException {
+        GradingScale scale = GradingScale.forName("US-4.3");
+        int entryId = queue.submit(new Student("Ada", "Lovelace"), courses(), scale).join();
+
+        List<GPAEntry> entries = db.getAllGpaEntries();
+        assertEquals(1, entries.size());
+        assertEquals(entryId, entries.get(0).getEntryId());
+        assertEquals("US-4.3", entries.get(0).getGradingScale());
+        assertEquals((3.0 * 4.0 + 1.5 * 3.0) / 4.5, entries.get(0).getGpaValue(), 1e-9);
+    }
+
+    @Test
+    void commitsEverySubmissionAcrossBatches() throws SQLException {
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            results.add(queue.submit(new Student("Student", "No" + (i % 7)), courses(), GradingScale.getDefault()));
+        }
+        results.forEach(CompletableFuture::join);
+
+        assertEquals(100, db.getAllGpaEntries().size());
+        assertEquals(7, db.getAllStudents().size());
+        assertEquals(100, queue.getEntriesCommitted());
+        assertTrue(queue.getBatchesCommitted() < 100);
+    }
+
+    @Test
+    void rejectsSubmissionsAfterClose() {
+        queue.close();
+        CompletableFuture<Integer> late = queue.submit(new Student("Late", "Comer"), courses(), GradingScale.getDefault());
+        assertThrows(CompletionException.class, late::join);
+    }
+}
@@ -0,0 +1,85 @@
+package com.gpa.app.service;
+
+import com.gpa.app.db.DatabaseService;
+import com.gpa.app.model.Course;
+import com.gpa.app.model.GPAEntry;
+import com.gpa.app.model.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class GPARecomputeJobTest {
+
+    @TempDir
+    Path dir;
+
+    private DatabaseService db;
+    private int studentId;
+
+    @BeforeEach
+    void open() throws SQLException {
+        db = DatabaseService.open("jdbc:sqlite:" + dir.resolve("recompute.db"));
+        Student student = db.saveOrGetStudent("Ada", "Lovelace");
+        studentId = student.getStudentId();
+    }
+
+    @AfterEach
+    void close() {
+        db.close();
+    }
+
+    // Stored points deliberately disagree with the scale so the job has something to rewrite.
+    private int save(String scale, String... grades) throws SQLException {
+        List<Course> courses = new ArrayList<>();
+        for (String grade : grades) {
+            courses.add(new Course("Course " + grade, "C-" + grade, 3.0, null, null, grade, 1.0));
+        }
+        GPAEntry entry = new GPAEntry(0, studentId, "Ada", "Lovelace", 1.0, 3.0 * grades.length, LocalDateTime.now(), scale);
+        return db.saveGpaEntry(entry, courses);
+    }
+
+    @Test
+    void progressReachesTotalAndUnknownScalesAreSkipped() throws SQLException {
+        int first = save("UGC-4.0", "A+", "B");
+        int empty = save("UGC-4.0");
+        int retired = save("RETIRED-5.0", "A");
+        int last = save("US-4.3", "A+");
+
+        GPARecomputeJob job = new GPARecomputeJob(db, 1, ForkJoinPool.commonPool());
+        List<long[]> progress = new ArrayList<>();
+        job.setProgressListener((processed, total) -> progress.add(new long[]{processed, total}));
+        GPARecomputeJob.RecomputeReport report = job.run();
+
+        assertTrue(report.isCompleted());
+        assertEquals(4, report.getEntries());
+        assertEquals(4, report.getCourses());
+        assertEquals(1, report.getSkippedEntries());
+        assertEquals(4, progress.size());
+        assertArrayEquals(new long[]{4, 4}, progress.get(progress.size() - 1));
+
+        assertEquals(List.of(4.0, 3.0), points(first));
+        assertEquals(List.of(), points(empty));
+        assertEquals(List.of(1.0), points(retired));
+        assertEquals(List.of(4.3), points(last));
+        assertEquals(0, db.loadJobCheckpoint(GPARecomputeJob.JOB_NAME));
+    }
+
+    private List<Double> points(int entryId) throws SQLException {
+        List<Double> points = new ArrayList<>();
+        for (Course course : db.getCoursesForEntry(entryId)) {
+            points.add(course.getGradePoint());
+        }
+        return points;
+    }
+}
@@ -0,0 +1,102 @@
+package com.gpa.app.service;
+
+import com.gpa.app.db.DatabaseService;
+import com.gpa.app.model.GPARecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class GradeImporterTest {
+
+    private static final String HEADER = "first_name,last_name,course_code,course_name,credit,grade\n";
+
+    private final GradeImporter importer = new GradeImporter(null, 100, GradingScale.forName("UGC-4.0"));
+
+    @Test
+    void groupsConsecutiveRowsOfAStudentIntoOneEntry() throws IOException {
+        List<String> errors = new ArrayList<>();
+        List<GPARecord> records = importer.parseCsv(new StringReader(HEADER +
+                "Ada,Lovelace,CSE-201,Algorithms,3,A+\n" +
+                "Ada,Lovelace,CSE-305,Databases,1.5,B\n" +
+                "Alan,Turing,\"MAT-101\",\"Calculus, I\",3,A\n"), errors);
+
+        assertEquals(List.of(), errors);
+        assertEquals(2, records.size());
+        assertEquals(2, records.get(0).getCourses().size());
+        assertEquals((3 * 4.0 + 1.5 * 3.0) / 4.5, records.get(0).getEntry().getGpaValue(), 1e-9);
+        assertEquals("Calculus, I", records.get(1).getCourses().get(0).getCourseName());
+    }
+
+    @Test
+    void groupsAStudentsRowsWhereverTheyAppear() throws IOException {
+        List<String> errors = new ArrayList<>();
+        List<GPARecord> records = importer.parseCsv(new StringReader(HEADER +
+                "Ada,Lovelace,CSE-201,Algorithms,3,A+\n" +
+                "Alan,Turing,MAT-101,Calculus,3,A\n" +
+                "Ada,Lovelace,CSE-305,Databases,1.5,B\n"), errors);
+
+        assertEquals(List.of(), errors);
+        assertEquals(2, records.size());
+        assertEquals("Ada", records.get(0).getEntry().getStudentName());
+        assertEquals(2, records.get(0).getCourses().size());
+        assertEquals((3 * 4.0 + 1.5 * 3.0) / 4.5, records.get(0).getEntry().getGpaValue(), 1e-9);
+    }
+
+    @Test
+    void skipsRowsOfAStudentAlreadyWrittenInAnEarlierBatch(@TempDir Path dir) throws IOException, SQLException {
+        DatabaseService db = DatabaseService.open("jdbc:sqlite:" + dir.resolve("import.db"));
+        try {
+            GradeImporter.ImportReport report = new GradeImporter(db, 1, GradingScale.forName("UGC-4.0"))
+                    .importCsv(new StringReader(HEADER +
+                            "Ada,Lovelace,CSE-201,Algorithms,3,A+\n" +
+                            "Alan,Turing,MAT-101,Calculus,3,A\n" +
+                            "Ada,Lovelace,CSE-305,Databases,1.5,B\n"));
+
+            assertEquals(2, report.getEntries());
+            assertEquals(2, report.getRows());
+            assertEquals(1, report.getSkippedRows());
+            int ada = db.saveOrGetStudent("Ada", "Lovelace").getStudentId();
+            assertEquals(1, db.getEntriesForStudent(ada).size());
+        } finally {
+            db.close();
+        }
+    }
+
+    @Test
+    void rejectsCreditsThatAreNotPositiveAndFinite() throws IOException {
+        List<String> errors = new ArrayList<>();
+        List<GPARecord> records = importer.parseCsv(new StringReader(HEADER +
+                "Ada,Lovelace,CSE-201,Algorithms,-3,A\n" +
+                "Ada,Lovelace,CSE-202,Logic,0,A\n" +
+                "Ada,Lovelace,CSE-203,Graphs,NaN,A\n" +
+                "Ada,Lovelace,CSE-204,Automata,Infinity,A\n" +
+                "Ada,Lovelace,CSE-205,Compilers,three,A\n" +
+                "Ada,Lovelace,CSE-206,Networks,3,A\n"), errors);
+
+        assertEquals(5, errors.size(), errors::toString);
+        assertTrue(errors.get(0).startsWith("line 2: credit '-3'"), errors.get(0));
+        assertTrue(errors.get(2).contains("'NaN'"), errors.get(2));
+        assertEquals(1, records.size());
+        assertEquals(1, records.get(0).getCourses().size());
+        assertEquals(3.0, records.get(0).getEntry().getTotalCredits());
+    }
+
+    @Test
+    void rejectsGradesOffTheScale() throws IOException {
+        List<String> errors = new ArrayList<>();
+        List<GPARecord> records = importer.parseCsv(new StringReader(HEADER + "Ada,Lovelace,CSE-201,Algorithms,3,Z\n"), errors);
+
+        assertTrue(records.isEmpty());
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0).contains("UGC-4.0"), errors.get(0));
+    }
+}
@@ -0,0 +1,43 @@
+package com.gpa.app.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class GradingScaleTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void offeredGradesDoNotDependOnTheDefaultLocale() throws IOException {
+        Path config = dir.resolve("scales.properties");
+        Files.writeString(config, "scales = LOWER\nLOWER.grades = i:4.00, b:3.00\n");
+
+        Locale locale = Locale.getDefault();
+        System.setProperty(GradingScale.CONFIG_PROPERTY, config.toString());
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            GradingScale.reload();
+            GradingScale scale = GradingScale.forName("LOWER");
+
+            assertEquals(List.of("I", "B"), List.of(scale.getGrades()));
+            for (String grade : scale.getGrades()) {
+                assertTrue(scale.isGrade(grade), grade);
+            }
+            assertEquals(4.0, scale.pointFor("I"));
+        } finally {
+            Locale.setDefault(locale);
+            System.clearProperty(GradingScale.CONFIG_PROPERTY);
+            GradingScale.reload();
+        }
+    }
+}